@@ -0,0 +1,56 @@
+package com.gcssloop.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * 作用: 渐变取色基准测试
+ * 作者: GcsSloop
+ * 摘要: getColor 每一帧都会调用(阴影着色), 查找表的构建只发生在设置颜色时, 两者分别测量.
+ * interpolate 为构建查找表时的单次插值, 用于对比不同插值方式的开销.
+ */
+@State(Scope.Thread)
+public class ArcColorTableBenchmark {
+    private static final int RADIO_COUNT = 1024;    // 必须为 2 的幂
+    private static final int[] COLORS = {0xFF1A2A6C, 0xFFB21F1F, 0xFFFDBB2D};
+
+    @Param({"0", "1", "2"})
+    public int interpolation;
+
+    private final float[] mRadio = new float[RADIO_COUNT];
+    private ArcColorTable mTable;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < RADIO_COUNT; i++) {
+            mRadio[i] = random.nextFloat();
+        }
+        mTable = new ArcColorTable(COLORS, interpolation);
+    }
+
+    private float nextRadio() {
+        return mRadio[mIndex = (mIndex + 1) & (RADIO_COUNT - 1)];
+    }
+
+    @Benchmark
+    public int getColor() {
+        return mTable.getColor(nextRadio());
+    }
+
+    @Benchmark
+    public int getColorFrom() {
+        return ArcColorTable.interpolate(COLORS[0], COLORS[1], nextRadio(), interpolation);
+    }
+
+    @Benchmark
+    public ArcColorTable buildTable() {
+        return new ArcColorTable(COLORS, interpolation);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gcssloop.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * 作用: 圆弧几何计算基准测试
+ * 作者: GcsSloop
+ * 摘要: 覆盖每个触摸事件都会执行的计算: 触摸点角度与进度、拖动按钮位置、单击区域判定、进度与数值的转换.
+ * 触摸点预先随机生成在圆弧附近, 每次调用轮换使用, 避免 JIT 对固定输入做常量折叠.
+ */
+@State(Scope.Thread)
+public class ArcGeometryBenchmark {
+    private static final int POINT_COUNT = 1024;    // 必须为 2 的幂
+
+    private static final int SIZE = 1080;
+    private static final float ARC_WIDTH = 120;
+    private static final float OPEN_ANGLE = 90;
+    private static final float ROTATE_ANGLE = 90;
+
+    private final ArcGeometry mGeometry = new ArcGeometry();
+    private final float[] mPointX = new float[POINT_COUNT];
+    private final float[] mPointY = new float[POINT_COUNT];
+    private final float[] mPresent = new float[POINT_COUNT];
+    private final float[] mOut = new float[2];
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mGeometry.setArcWidth(ARC_WIDTH);
+        mGeometry.setOpenAngle(OPEN_ANGLE);
+        mGeometry.setRotateAngle(ROTATE_ANGLE);
+        mGeometry.setRange(-20, 100);
+        mGeometry.layout(SIZE, SIZE, 0, 0, 0, 0, 0);
+        float centerX = mGeometry.getCenterX();
+        float centerY = mGeometry.getCenterY();
+        float radius = mGeometry.getRadius();
+        Random random = new Random(42);
+        for (int i = 0; i < POINT_COUNT; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double distance = radius + (random.nextDouble() - 0.5) * ARC_WIDTH * 2;
+            mPointX[i] = (float) (centerX + distance * Math.cos(angle));
+            mPointY[i] = (float) (centerY + distance * Math.sin(angle));
+            mPresent[i] = random.nextFloat();
+        }
+    }
+
+    private int next() {
+        return mIndex = (mIndex + 1) & (POINT_COUNT - 1);
+    }
+
+    @Benchmark
+    public float getAngle() {
+        int i = next();
+        return mGeometry.getAngle(mPointX[i], mPointY[i]);
+    }
+
+    @Benchmark
+    public float getDiffAngle() {
+        int i = next();
+        return mGeometry.getDiffAngle(mPointX[i], mPointY[i]);
+    }
+
+    @Benchmark
+    public float getCurrentProgress() {
+        int i = next();
+        return mGeometry.getProgress(mPointX[i], mPointY[i]);
+    }
+
+    @Benchmark
+    public float[] computeThumbPos() {
+        mGeometry.computePos(mPresent[next()], mOut);
+        return mOut;
+    }
+
+    @Benchmark
+    public boolean isInArcProgress() {
+        int i = next();
+        return mGeometry.isInArc(mPointX[i], mPointY[i], 0);
+    }
+
+    @Benchmark
+    public int presentToValue() {
+        return mGeometry.presentToValue(mPresent[next()]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.gcssloop.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 作用: 拖动位置预测基准测试
+ * 作者: GcsSloop
+ * 摘要: 开启预测后每个触摸采样都会调用一次 addSample, 每个 MOVE 事件调用一次 predict,
+ * 使用模拟的往复拖动轨迹(8ms 采样间隔)测量两者合计的耗时.
+ */
+@State(Scope.Thread)
+public class ArcMotionPredictorBenchmark {
+    private static final int SAMPLE_COUNT = 1024;   // 必须为 2 的幂
+    private static final long SAMPLE_INTERVAL = 8;  // 采样间隔 ms
+
+    private final float[] mTrace = new float[SAMPLE_COUNT];
+    private final ArcMotionPredictor mPredictor = new ArcMotionPredictor();
+    private int mIndex;
+    private long mTime;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            mTrace[i] = (float) (0.5 + 0.4 * Math.sin(i * 2 * Math.PI / 128));
+        }
+    }
+
+    @Benchmark
+    public float addSampleAndPredict() {
+        mIndex = (mIndex + 1) & (SAMPLE_COUNT - 1);
+        mTime += SAMPLE_INTERVAL;
+        mPredictor.addSample(mTime, mTrace[mIndex]);
+        return mPredictor.predict(mTime + 16);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gcssloop.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * 作用: 数值曲线基准测试
+ * 作者: GcsSloop
+ * 摘要: 拖动和回调时每次都需要将进度转换为数值, 对比查找表与直接计算 Math.pow 的耗时,
+ * 以及设置数值时在查找表上二分查找的耗时.
+ */
+@State(Scope.Thread)
+public class ArcValueMappingBenchmark {
+    private static final int RADIO_COUNT = 1024;    // 必须为 2 的幂
+    private static final double MIN_VALUE = 20;
+    private static final double MAX_VALUE = 20000;
+
+    private final float[] mRadio = new float[RADIO_COUNT];
+    private final ArcGeometry mGeometry = new ArcGeometry();
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < RADIO_COUNT; i++) {
+            mRadio[i] = random.nextFloat();
+        }
+        mGeometry.setRange(MIN_VALUE, MAX_VALUE, 0);
+        mGeometry.setMapping(ArcValueMapping.logScale(MIN_VALUE, MAX_VALUE));
+    }
+
+    private float nextRadio() {
+        return mRadio[mIndex = (mIndex + 1) & (RADIO_COUNT - 1)];
+    }
+
+    @Benchmark
+    public double presentToValueTable() {
+        return mGeometry.presentToExactValue(nextRadio());
+    }
+
+    @Benchmark
+    public double presentToValuePow() {
+        return MIN_VALUE * Math.pow(MAX_VALUE / MIN_VALUE, nextRadio());
+    }
+
+    @Benchmark
+    public float valueToPresent() {
+        return mGeometry.valueToPresent(MIN_VALUE + (MAX_VALUE - MIN_VALUE) * nextRadio());
+    }
+}
@@ -0,0 +1,215 @@
+package com.gcssloop.widget;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.LruCache;
+import android.util.TypedValue;
+
+import com.gcssloop.arcseekbar.R;
+
+import java.util.Arrays;
+import java.util.WeakHashMap;
+
+/**
+ * 作用: ArcSeekBar 布局属性解析结果
+ * 作者: GcsSloop
+ * 摘要: 同一个界面中通常会加载多个配置相同的 ArcSeekBar, 列表中也会反复加载, 每次都需要解析属性并逐个读取颜色数组,
+ * 因此解析结果和颜色数组都在进程内缓存.
+ * 1. 缓存内容
+ * -  颜色数组按资源 ID 缓存, 布局属性按(style 属性, 本控件属性的原始值)缓存解析结果, 其它属性(id, 宽高等)不影响命中.
+ * 2. 主题与配置
+ * -  解析结果与主题和配置(语言、屏幕密度、夜间模式等)相关, 因此每个主题单独缓存, 主题释放后缓存随之释放,
+ * -  并记录生成缓存时的配置, 获取时发现配置已经变化则清空该主题下的缓存.
+ * 3. 容量
+ * -  每个主题最多缓存 {@link #MAX_ATTRIBUTE_SETS} 组属性和 {@link #MAX_COLOR_ARRAYS} 个颜色数组.
+ * 4. 共享
+ * -  解析结果和颜色数组会被多个 View 共享, 不能修改.
+ */
+final class ArcAttributes {
+    static final int DEFAULT_TOUCH_SLOP = 0;                // 默认圆弧外额外触摸范围 dp
+    static final int DEFAULT_MAX_VALUE = 100;               // 默认最大数值
+    static final int DEFAULT_MIN_VALUE = 0;                 // 默认最小数值
+
+    private static final int MAX_ATTRIBUTE_SETS = 32;       // 每个主题最多缓存的属性组数量
+    private static final int MAX_COLOR_ARRAYS = 16;         // 每个主题最多缓存的颜色数组数量
+
+    // 按主题缓存, 主题不再使用时自动释放
+    private static final WeakHashMap<Resources.Theme, Cache> sCaches = new WeakHashMap<Resources.Theme, Cache>();
+
+    final ArcSeekBarStyle style;    // 外观样式
+    final int maxValue;             // 最大数值
+    final int minValue;             // 最小数值
+    final int progress;             // 初始进度
+    final int renderMode;           // 渲染模式
+    final int touchSlop;            // 圆弧外额外允许点击的范围 px
+    final int dispatchMode;         // 拖动时进度回调方式
+    final boolean interactive;      // 是否允许用户交互
+    final boolean touchPrediction;  // 是否开启拖动位置预测
+    final boolean asyncLayout;      // 是否在后台线程生成绘制资源
+    final int valueTextSize;        // 中心数值文字大小 px, 为 0 时不显示
+    final int valueTextColor;       // 中心数值文字颜色
+    final String valuePrefix;       // 中心数值前缀
+    final String valueSuffix;       // 中心数值后缀
+    final int valueDecimals;        // 中心数值小数位数
+    final boolean valueGrouping;    // 中心数值是否按千位分组
+
+    private ArcAttributes(Context context, TypedArray ta) {
+        int resId = ta.getResourceId(R.styleable.ArcSeekBar_arc_colors, 0);
+        if (0 == resId) {
+            resId = R.array.arc_colors_default;
+        }
+        style = ArcSeekBarStyle.fromAttributes(context, ta, getColors(context, resId));
+        int max = ta.getInt(R.styleable.ArcSeekBar_arc_max, DEFAULT_MAX_VALUE);
+        int min = ta.getInt(R.styleable.ArcSeekBar_arc_min, DEFAULT_MIN_VALUE);
+        // 如果用户设置的最大值和最小值不合理，则直接按照默认进行处理
+        if (max <= min) {
+            max = DEFAULT_MAX_VALUE;
+            min = DEFAULT_MIN_VALUE;
+        }
+        maxValue = max;
+        minValue = min;
+        progress = ta.getInt(R.styleable.ArcSeekBar_arc_progress, min);
+        renderMode = ta.getInt(R.styleable.ArcSeekBar_arc_render_mode, ArcSeekBar.RENDER_MODE_HARDWARE);
+        touchSlop = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_touch_slop, dp2px(context, DEFAULT_TOUCH_SLOP));
+        dispatchMode = ta.getInt(R.styleable.ArcSeekBar_arc_dispatch_mode, ArcSeekBar.DISPATCH_MODE_IMMEDIATE);
+        interactive = ta.getBoolean(R.styleable.ArcSeekBar_arc_interactive, true);
+        touchPrediction = ta.getBoolean(R.styleable.ArcSeekBar_arc_touch_prediction, false);
+        asyncLayout = ta.getBoolean(R.styleable.ArcSeekBar_arc_async_layout, false);
+        valueTextSize = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_value_text_size, 0);
+        valueTextColor = ta.getColor(R.styleable.ArcSeekBar_arc_value_text_color, ArcValueLabel.COLOR_PROGRESS);
+        valuePrefix = ta.getString(R.styleable.ArcSeekBar_arc_value_prefix);
+        valueSuffix = ta.getString(R.styleable.ArcSeekBar_arc_value_suffix);
+        valueDecimals = ta.getInt(R.styleable.ArcSeekBar_arc_value_decimals, 0);
+        valueGrouping = ta.getBoolean(R.styleable.ArcSeekBar_arc_value_grouping, false);
+    }
+
+    /**
+     * 获取布局属性的解析结果, 相同主题下属性相同时直接返回缓存
+     *
+     * @param attrs 布局属性, 可以为 null
+     */
+    static ArcAttributes obtain(Context context, AttributeSet attrs) {
+        Cache cache = getCache(context);
+        AttributeKey key = AttributeKey.of(attrs);
+        ArcAttributes attributes = cache.attributes.get(key);
+        if (null == attributes) {
+            TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.ArcSeekBar);
+            attributes = new ArcAttributes(context, ta);
+            ta.recycle();
+            cache.attributes.put(key, attributes);
+        }
+        return attributes;
+    }
+
+    /**
+     * 获取颜色数组资源中的颜色, 返回的数组是共享的, 不能修改
+     *
+     * @param resId 颜色数组资源 ID
+     */
+    static int[] getColors(Context context, int resId) {
+        Cache cache = getCache(context);
+        int[] colors = cache.colors.get(resId);
+        if (null == colors) {
+            TypedArray colorArray = context.getResources().obtainTypedArray(resId);
+            colors = new int[colorArray.length()];
+            for (int i = 0; i < colorArray.length(); i++) {
+                colors[i] = colorArray.getColor(i, 0);
+            }
+            colorArray.recycle();
+            cache.colors.put(resId, colors);
+        }
+        return colors;
+    }
+
+    // 获取当前主题的缓存, 配置变化后重新创建
+    private static Cache getCache(Context context) {
+        Resources.Theme theme = context.getTheme();
+        Configuration configuration = context.getResources().getConfiguration();
+        synchronized (sCaches) {
+            Cache cache = sCaches.get(theme);
+            if (null == cache || !cache.configuration.equals(configuration)) {
+                cache = new Cache(configuration);
+                sCaches.put(theme, cache);
+            }
+            return cache;
+        }
+    }
+
+    private static int dp2px(Context context, int dp) {
+        return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, context.getResources().getDisplayMetrics());
+    }
+
+    // 单个主题下的缓存, 不持有主题本身
+    private static final class Cache {
+        final Configuration configuration;      // 生成缓存时的配置(副本)
+        final LruCache<AttributeKey, ArcAttributes> attributes = new LruCache<AttributeKey, ArcAttributes>(MAX_ATTRIBUTE_SETS);
+        final LruCache<Integer, int[]> colors = new LruCache<Integer, int[]>(MAX_COLOR_ARRAYS);
+
+        Cache(Configuration configuration) {
+            this.configuration = new Configuration(configuration);
+        }
+    }
+
+    // 属性组缓存键, 只包含 style 属性和本控件声明的属性的原始值(未解析的引用或数值字符串)
+    private static final class AttributeKey {
+        private static final AttributeKey EMPTY = new AttributeKey(0, new int[0], new String[0]);
+
+        final int styleAttribute;
+        final int[] names;
+        final String[] values;
+        final int hash;
+
+        private AttributeKey(int styleAttribute, int[] names, String[] values) {
+            this.styleAttribute = styleAttribute;
+            this.names = names;
+            this.values = values;
+            this.hash = 31 * (31 * styleAttribute + Arrays.hashCode(names)) + Arrays.hashCode(values);
+        }
+
+        static AttributeKey of(AttributeSet attrs) {
+            if (null == attrs) return EMPTY;
+            int count = 0;
+            int size = attrs.getAttributeCount();
+            for (int i = 0; i < size; i++) {
+                if (isArcSeekBarAttribute(attrs.getAttributeNameResource(i))) count++;
+            }
+            int[] names = new int[count];
+            String[] values = new String[count];
+            int index = 0;
+            for (int i = 0; i < size; i++) {
+                int name = attrs.getAttributeNameResource(i);
+                if (isArcSeekBarAttribute(name)) {
+                    names[index] = name;
+                    values[index] = attrs.getAttributeValue(i);
+                    index++;
+                }
+            }
+            return new AttributeKey(attrs.getStyleAttribute(), names, values);
+        }
+
+        private static boolean isArcSeekBarAttribute(int name) {
+            if (0 == name) return false;
+            for (int attr : R.styleable.ArcSeekBar) {
+                if (attr == name) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof AttributeKey)) return false;
+            AttributeKey other = (AttributeKey) o;
+            return hash == other.hash && styleAttribute == other.styleAttribute
+                    && Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
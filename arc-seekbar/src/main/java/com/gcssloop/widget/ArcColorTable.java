@@ -0,0 +1,162 @@
+package com.gcssloop.widget;
+
+/**
+ * 作用: 渐变颜色查找表
+ * 作者: GcsSloop
+ * 摘要: 渐变颜色只和颜色数组及插值方式相关, 因此在设置颜色时一次性计算出固定数量的采样颜色,
+ * 之后任意位置取色都只需要一次数组索引. 颜色按 ARGB 处理, 透明度同样参与插值.
+ * 支持三种插值方式:
+ * 1. RGB: 直接对 sRGB 分量进行线性插值, 与 SweepGradient 的效果一致.
+ * 2. LINEAR: 先转换到线性光空间再插值, 亮度过渡更接近物理混色.
+ * 3. PERCEPTUAL: 在 Oklab 空间插值, 亮度和色相过渡在视觉上更均匀.
+ */
+final class ArcColorTable {
+    static final int INTERPOLATION_RGB = 0;         // sRGB 插值
+    static final int INTERPOLATION_LINEAR = 1;      // 线性光插值
+    static final int INTERPOLATION_PERCEPTUAL = 2;  // 感知均匀(Oklab)插值
+
+    static final int TABLE_SIZE = 256;              // 查找表大小
+
+    private final int[] mColors;
+    private final int mInterpolation;
+    private final int[] mTable;
+
+    ArcColorTable(int[] colors, int interpolation) {
+        mColors = colors;
+        mInterpolation = interpolation;
+        mTable = new int[TABLE_SIZE];
+        build();
+    }
+
+    // 计算查找表
+    private void build() {
+        int last = mColors.length - 1;
+        if (last <= 0) {
+            int color = last < 0 ? 0 : mColors[0];
+            for (int i = 0; i < TABLE_SIZE; i++) {
+                mTable[i] = color;
+            }
+            return;
+        }
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            float position = i * 1.0f / (TABLE_SIZE - 1) * last;
+            int index = Math.min((int) position, last - 1);
+            mTable[i] = interpolate(mColors[index], mColors[index + 1], position - index, mInterpolation);
+        }
+    }
+
+    /**
+     * 获取某个百分比位置的颜色
+     *
+     * @param radio 取值[0,1]
+     * @return 颜色
+     */
+    int getColor(float radio) {
+        if (radio <= 0) return mTable[0];
+        if (radio >= 1) return mTable[TABLE_SIZE - 1];
+        return mTable[(int) (radio * (TABLE_SIZE - 1) + 0.5f)];
+    }
+
+    int[] getColors() {
+        return mColors;
+    }
+
+    int getInterpolation() {
+        return mInterpolation;
+    }
+
+    /**
+     * 获取查找表, 调用者不可修改
+     */
+    int[] getTable() {
+        return mTable;
+    }
+
+    /**
+     * 取两个颜色间的渐变区间 中的某一点的颜色
+     *
+     * @param startColor    开始的颜色
+     * @param endColor      结束的颜色
+     * @param radio         比例 [0, 1]
+     * @param interpolation 插值方式
+     * @return 选中点的颜色
+     */
+    static int interpolate(int startColor, int endColor, float radio, int interpolation) {
+        int alpha = lerp(startColor >>> 24, endColor >>> 24, radio);
+        switch (interpolation) {
+            case INTERPOLATION_LINEAR:
+                return (alpha << 24) | interpolateLinear(startColor, endColor, radio);
+            case INTERPOLATION_PERCEPTUAL:
+                return (alpha << 24) | interpolateOklab(startColor, endColor, radio);
+            default:
+                int red = lerp((startColor >> 16) & 0xff, (endColor >> 16) & 0xff, radio);
+                int green = lerp((startColor >> 8) & 0xff, (endColor >> 8) & 0xff, radio);
+                int blue = lerp(startColor & 0xff, endColor & 0xff, radio);
+                return (alpha << 24) | (red << 16) | (green << 8) | blue;
+        }
+    }
+
+    private static int lerp(int start, int end, float radio) {
+        return (int) (start + ((end - start) * radio + 0.5));
+    }
+
+    // 线性光空间插值, 返回不含透明度的 RGB
+    private static int interpolateLinear(int startColor, int endColor, float radio) {
+        int rgb = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            double start = toLinear((startColor >> shift) & 0xff);
+            double end = toLinear((endColor >> shift) & 0xff);
+            rgb |= toSrgb(start + (end - start) * radio) << shift;
+        }
+        return rgb;
+    }
+
+    // Oklab 空间插值, 返回不含透明度的 RGB
+    private static int interpolateOklab(int startColor, int endColor, float radio) {
+        double[] start = toOklab(startColor);
+        double[] end = toOklab(endColor);
+        double l = start[0] + (end[0] - start[0]) * radio;
+        double a = start[1] + (end[1] - start[1]) * radio;
+        double b = start[2] + (end[2] - start[2]) * radio;
+
+        double l1 = l + 0.3963377774 * a + 0.2158037573 * b;
+        double m1 = l - 0.1055613458 * a - 0.0638541728 * b;
+        double s1 = l - 0.0894841775 * a - 1.2914855480 * b;
+        l1 = l1 * l1 * l1;
+        m1 = m1 * m1 * m1;
+        s1 = s1 * s1 * s1;
+
+        int red = toSrgb(4.0767416621 * l1 - 3.3077115913 * m1 + 0.2309699292 * s1);
+        int green = toSrgb(-1.2684380046 * l1 + 2.6097574011 * m1 - 0.3413193965 * s1);
+        int blue = toSrgb(-0.0041960863 * l1 - 0.7034186147 * m1 + 1.7076147010 * s1);
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    private static double[] toOklab(int color) {
+        double red = toLinear((color >> 16) & 0xff);
+        double green = toLinear((color >> 8) & 0xff);
+        double blue = toLinear(color & 0xff);
+        double l = Math.cbrt(0.4122214708 * red + 0.5363325363 * green + 0.0514459929 * blue);
+        double m = Math.cbrt(0.2119034982 * red + 0.6806995451 * green + 0.1073969566 * blue);
+        double s = Math.cbrt(0.0883024619 * red + 0.2817188376 * green + 0.6299787005 * blue);
+        return new double[]{
+                0.2104542553 * l + 0.7936177850 * m - 0.0040720468 * s,
+                1.9779984951 * l - 2.4285922050 * m + 0.4505937099 * s,
+                0.0259040371 * l + 0.7827717662 * m - 0.8086757660 * s
+        };
+    }
+
+    // sRGB 分量 [0, 255] 转换为线性光 [0, 1]
+    private static double toLinear(int component) {
+        double c = component / 255.0;
+        return c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+    }
+
+    // 线性光 [0, 1] 转换为 sRGB 分量 [0, 255]
+    private static int toSrgb(double linear) {
+        if (linear <= 0) return 0;
+        if (linear >= 1) return 255;
+        double c = linear <= 0.0031308 ? linear * 12.92 : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+        return (int) (c * 255 + 0.5);
+    }
+}
@@ -0,0 +1,411 @@
+package com.gcssloop.widget;
+
+/**
+ * 作用: 圆弧几何与数值计算
+ * 作者: GcsSloop
+ * 摘要: ArcSeekBar 中所有与绘制平台无关的计算都集中在这里, 只使用基本数据类型, 不依赖任何 Android 类,
+ * 因此可以直接在 JVM 上测试和测量, 也可以被其它绘制同样圆弧的渲染器复用.
+ * 1. 坐标系
+ * -  绘制坐标系: 未旋转的坐标系, 0 度指向右侧, 顺时针为正方向, 与 Canvas 一致, 圆弧从 openAngle / 2 开始.
+ * -  View 坐标系: 绘制坐标系绕中心旋转 rotateAngle 之后的坐标系, 触摸事件的坐标均在该坐标系下.
+ * 2. 计算方式
+ * -  圆弧永远是一段标准圆弧, 因此位置、角度、进度和点击区域均通过解析式直接计算.
+ * -  需要输出坐标的方法使用调用者提供的数组, 不会创建新对象.
+ * -  两个坐标系之间只差一个绕中心的旋转, 转换时直接使用缓存的正弦和余弦, 不需要 Matrix.
+ * 3. 数值映射
+ * -  进度百分比 [0, 1] 与数值 [min, max] 之间的转换也在这里完成, 数值曲线由 {@link ArcValueMapping} 的查找表描述,
+ * -  数值范围和步长使用 double 保存, 同时支持整数、小数和 long 数值, 设置步长后数值向下对齐到步长.
+ * 4. 刻度
+ * -  刻度线端点一次性计算到同一个数组中, 可以直接用于一次 drawLines.
+ */
+public final class ArcGeometry {
+    public static final float CIRCLE_ANGLE = 360;   // 圆周角
+
+    // 数值比例经过 float 进度百分比往返转换后的误差上限, 陡峭的数值曲线实测约为 4 个 ulp(1f), 留出余量按 16 个计算
+    private static final double FRACTION_ERROR = 16 * Math.ulp(1f);
+
+    // 配置
+    private float mArcWidth;        // 圆弧宽度
+    private float mOpenAngle;       // 开口角度
+    private float mRotateAngle;     // 旋转角度
+    private float mRotateCos = 1;   // 旋转角度的余弦, 用于坐标系转换
+    private float mRotateSin = 0;   // 旋转角度的正弦
+    private double mMinValue = 0;   // 最小数值
+    private double mMaxValue = 100; // 最大数值
+    private double mStep = 1;       // 步长, 为 0 时数值连续变化
+    private ArcValueMapping mMapping = ArcValueMapping.LINEAR;  // 数值曲线
+
+    // 布局结果
+    private float mCenterX;         // 中心点 X
+    private float mCenterY;         // 中心点 Y
+    private float mRadius;          // 圆弧半径(圆弧中线)
+
+    //--- 配置 -------------------------------------------------------------------------------------
+
+    public void setArcWidth(float arcWidth) {
+        mArcWidth = arcWidth;
+    }
+
+    public void setOpenAngle(float openAngle) {
+        mOpenAngle = openAngle;
+    }
+
+    public void setRotateAngle(float rotateAngle) {
+        mRotateAngle = rotateAngle;
+        double radians = Math.toRadians(rotateAngle);
+        mRotateCos = (float) Math.cos(radians);
+        mRotateSin = (float) Math.sin(radians);
+    }
+
+    /**
+     * 设置整数数值范围, 步长为 1
+     *
+     * @param min 最小数值
+     * @param max 最大数值
+     */
+    public void setRange(int min, int max) {
+        setRange(min, max, 1);
+    }
+
+    /**
+     * 设置数值范围和步长
+     *
+     * @param min  最小数值
+     * @param max  最大数值, 必须大于最小数值
+     * @param step 步长, 为 0 时数值连续变化
+     * @throws IllegalArgumentException 最大数值不大于最小数值时
+     */
+    public void setRange(double min, double max, double step) {
+        if (!(max > min)) {
+            throw new IllegalArgumentException("max (" + max + ") must be greater than min (" + min + ")");
+        }
+        mMinValue = min;
+        mMaxValue = max;
+        mStep = Math.max(0, step);
+    }
+
+    /**
+     * 设置数值曲线
+     *
+     * @param mapping 数值曲线, 为 null 时使用线性映射
+     */
+    public void setMapping(ArcValueMapping mapping) {
+        mMapping = null != mapping ? mapping : ArcValueMapping.LINEAR;
+    }
+
+    /**
+     * 根据可用区域计算圆弧的中心和半径, 圆弧始终以较短的边为准并居中显示
+     *
+     * @param width  总宽度
+     * @param height 总高度
+     * @param inset  圆弧宽度以外还需要预留的距离(描边、阴影等)
+     */
+    public void layout(int width, int height, int paddingLeft, int paddingTop,
+                       int paddingRight, int paddingBottom, float inset) {
+        int safeW = width - paddingLeft - paddingRight;
+        int safeH = height - paddingTop - paddingBottom;
+        float fix = mArcWidth / 2 + inset;  // 修正距离,画笔宽度的修正
+        float edgeLength = Math.min(safeW, safeH);
+        mCenterX = (safeW - edgeLength) / 2.0f + paddingLeft + edgeLength / 2;
+        mCenterY = (safeH - edgeLength) / 2.0f + paddingTop + edgeLength / 2;
+        mRadius = edgeLength / 2 - fix;
+    }
+
+    public float getArcWidth() {
+        return mArcWidth;
+    }
+
+    public float getOpenAngle() {
+        return mOpenAngle;
+    }
+
+    public float getRotateAngle() {
+        return mRotateAngle;
+    }
+
+    public double getMinValue() {
+        return mMinValue;
+    }
+
+    public double getMaxValue() {
+        return mMaxValue;
+    }
+
+    public double getStep() {
+        return mStep;
+    }
+
+    public ArcValueMapping getMapping() {
+        return mMapping;
+    }
+
+    public float getCenterX() {
+        return mCenterX;
+    }
+
+    public float getCenterY() {
+        return mCenterY;
+    }
+
+    public float getRadius() {
+        return mRadius;
+    }
+
+    /**
+     * 圆弧在绘制坐标系下的起始角度
+     */
+    public float getStartAngle() {
+        return mOpenAngle / 2;
+    }
+
+    /**
+     * 圆弧扫过的角度
+     */
+    public float getSweepAngle() {
+        return CIRCLE_ANGLE - mOpenAngle;
+    }
+
+    //--- 角度与进度 -------------------------------------------------------------------------------
+
+    /**
+     * 计算指定位置与中心点连线的角度(View 坐标系)
+     *
+     * @return 角度 [0, 360)
+     */
+    public float getAngle(float px, float py) {
+        float angle = (float) Math.toDegrees(Math.atan2(py - mCenterY, px - mCenterX));
+        if (angle < 0) {
+            angle += CIRCLE_ANGLE;
+        }
+        return angle;
+    }
+
+    /**
+     * 计算指定位置所成角度与圆弧起始角度之间的差值(View 坐标系)
+     *
+     * @return 角度差, 小于 0 或者大于圆弧扫过的角度时表示该位置落在开口内
+     */
+    public float getDiffAngle(float px, float py) {
+        float diffAngle = (getAngle(px, py) - mRotateAngle) % CIRCLE_ANGLE;
+        if (diffAngle < 0) {
+            diffAngle += CIRCLE_ANGLE;
+        }
+        return diffAngle - mOpenAngle / 2;
+    }
+
+    /**
+     * 计算指定位置对应的进度百分比(View 坐标系)
+     *
+     * @return 进度百分比 [0, 1]
+     */
+    public float getProgress(float px, float py) {
+        float progress = getDiffAngle(px, py) / getSweepAngle();
+        if (progress < 0) progress = 0;
+        if (progress > 1) progress = 1;
+        return progress;
+    }
+
+    /**
+     * 计算进度百分比在圆弧上对应的位置(绘制坐标系)
+     *
+     * @param present 进度百分比 [0, 1]
+     * @param out     输出位置, out[0] 为 x, out[1] 为 y
+     */
+    public void computePos(float present, float[] out) {
+        computePosAtAngle(getStartAngle() + getSweepAngle() * clamp(present), out);
+    }
+
+    /**
+     * 计算进度百分比在圆弧上对应的位置(View 坐标系)
+     *
+     * @param present 进度百分比 [0, 1]
+     * @param out     输出位置, out[0] 为 x, out[1] 为 y
+     */
+    public void computeViewPos(float present, float[] out) {
+        computePosAtAngle(mRotateAngle + getStartAngle() + getSweepAngle() * clamp(present), out);
+    }
+
+    /**
+     * 计算进度百分比在指定半径的同心圆上对应的位置(绘制坐标系)
+     *
+     * @param present 进度百分比 [0, 1]
+     * @param radius  到中心点的距离
+     * @param out     输出位置, out[0] 为 x, out[1] 为 y
+     */
+    public void computePos(float present, float radius, float[] out) {
+        computePosAtAngle(getStartAngle() + getSweepAngle() * clamp(present), radius, out);
+    }
+
+    private void computePosAtAngle(float angle, float[] out) {
+        computePosAtAngle(angle, mRadius, out);
+    }
+
+    private void computePosAtAngle(float angle, float radius, float[] out) {
+        double radians = Math.toRadians(angle);
+        out[0] = (float) (mCenterX + radius * Math.cos(radians));
+        out[1] = (float) (mCenterY + radius * Math.sin(radians));
+    }
+
+    //--- 坐标系转换 -------------------------------------------------------------------------------
+
+    /**
+     * 将 View 坐标系中的位置转换到绘制坐标系
+     *
+     * @param out 输出位置, out[0] 为 x, out[1] 为 y
+     */
+    public void viewToDraw(float px, float py, float[] out) {
+        float dx = px - mCenterX;
+        float dy = py - mCenterY;
+        out[0] = mCenterX + dx * mRotateCos + dy * mRotateSin;
+        out[1] = mCenterY - dx * mRotateSin + dy * mRotateCos;
+    }
+
+    /**
+     * 将绘制坐标系中的位置转换到 View 坐标系
+     *
+     * @param out 输出位置, out[0] 为 x, out[1] 为 y
+     */
+    public void drawToView(float px, float py, float[] out) {
+        float dx = px - mCenterX;
+        float dy = py - mCenterY;
+        out[0] = mCenterX + dx * mRotateCos - dy * mRotateSin;
+        out[1] = mCenterY + dx * mRotateSin + dy * mRotateCos;
+    }
+
+    //--- 刻度 -------------------------------------------------------------------------------------
+
+    /**
+     * 计算刻度线的端点(绘制坐标系), 主刻度和小刻度放在同一个数组中, 可以直接用于一次 Canvas.drawLines
+     *
+     * @param count       主刻度间隔数量, 主刻度共 count + 1 个, 均匀分布在圆弧两端之间
+     * @param minorCount  相邻主刻度之间的小刻度数量
+     * @param outerRadius 刻度外端到中心点的距离
+     * @param length      主刻度长度, 小刻度长度为主刻度的一半
+     * @return 端点数组, 每条刻度线依次为 x0, y0, x1, y1, count 小于 1 时为空数组
+     */
+    public float[] computeTicks(int count, int minorCount, float outerRadius, float length) {
+        if (count < 1) return new float[0];
+        int step = Math.max(0, minorCount) + 1;
+        int lines = count * step + 1;
+        float[] pts = new float[lines * 4];
+        for (int i = 0; i < lines; i++) {
+            float innerRadius = outerRadius - (i % step == 0 ? length : length / 2);
+            double radians = Math.toRadians(getStartAngle() + getSweepAngle() * i / (lines - 1));
+            float cos = (float) Math.cos(radians);
+            float sin = (float) Math.sin(radians);
+            pts[i * 4] = mCenterX + outerRadius * cos;
+            pts[i * 4 + 1] = mCenterY + outerRadius * sin;
+            pts[i * 4 + 2] = mCenterX + innerRadius * cos;
+            pts[i * 4 + 3] = mCenterY + innerRadius * sin;
+        }
+        return pts;
+    }
+
+    //--- 点击区域 ---------------------------------------------------------------------------------
+
+    /**
+     * 判断指定位置是否落在圆弧上(View 坐标系, 包含两端的圆角)
+     *
+     * @param slop 圆弧边缘外额外允许的触摸范围
+     * @return 是否在圆弧上
+     */
+    public boolean isInArc(float px, float py, float slop) {
+        float half = mArcWidth / 2 + slop;
+        float dx = px - mCenterX;
+        float dy = py - mCenterY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (Math.abs(distance - mRadius) <= half) {
+            // 在圆环范围内, 再判断是否在圆弧扫过的角度内
+            float diffAngle = getDiffAngle(px, py);
+            if (diffAngle >= 0 && diffAngle <= getSweepAngle()) {
+                return true;
+            }
+        }
+        // 两端的圆角
+        float startAngle = mRotateAngle + getStartAngle();
+        return isNearArcPoint(startAngle, half, px, py)
+                || isNearArcPoint(startAngle + getSweepAngle(), half, px, py);
+    }
+
+    // 判断指定位置与圆弧中线上某个角度对应点的距离是否在范围内
+    private boolean isNearArcPoint(float angle, float range, float px, float py) {
+        double radians = Math.toRadians(angle);
+        float dx = (float) (px - (mCenterX + mRadius * Math.cos(radians)));
+        float dy = (float) (py - (mCenterY + mRadius * Math.sin(radians)));
+        return dx * dx + dy * dy <= range * range;
+    }
+
+    //--- 数值映射 ---------------------------------------------------------------------------------
+
+    /**
+     * 数值转换为进度百分比, 超出范围的数值会被限制在范围内
+     *
+     * @param value 数值
+     * @return 进度百分比 [0, 1]
+     */
+    public float valueToPresent(int value) {
+        return valueToPresent((double) value);
+    }
+
+    /**
+     * 数值转换为进度百分比, 超出范围的数值会被限制在范围内, 非线性曲线在查找表上二分查找
+     *
+     * @param value 数值
+     * @return 进度百分比 [0, 1]
+     */
+    public float valueToPresent(double value) {
+        if (value > mMaxValue) value = mMaxValue;
+        if (value < mMinValue) value = mMinValue;
+        return mMapping.toPresent((float) ((value - mMinValue) / (mMaxValue - mMinValue)));
+    }
+
+    /**
+     * 将数值限制在范围内并向下对齐到步长, 不经过进度百分比, 因此不受 float 精度的限制
+     *
+     * @param value 数值
+     * @return 数值 [min, max]
+     */
+    public double alignValue(double value) {
+        if (value > mMaxValue) return mMaxValue;
+        if (value < mMinValue) return mMinValue;
+        if (mStep <= 0) return value;
+        double offset = Math.floor((value - mMinValue) / mStep + 1e-9) * mStep;
+        return Math.min(mMaxValue, mMinValue + offset);
+    }
+
+    /**
+     * 进度百分比转换为整数数值, 小数部分直接舍去
+     *
+     * @param present 进度百分比 [0, 1]
+     * @return 数值
+     */
+    public int presentToValue(float present) {
+        return (int) presentToExactValue(present);
+    }
+
+    /**
+     * 进度百分比转换为数值, 非线性曲线只需要一次查表, 设置步长时向下对齐到步长
+     *
+     * @param present 进度百分比 [0, 1]
+     * @return 数值 [min, max]
+     */
+    public double presentToExactValue(float present) {
+        double range = mMaxValue - mMinValue;
+        double offset = mMapping.toFraction(clamp(present)) * range;
+        if (mStep > 0) {
+            // 进度和数值比例为 float, 误差约为几个 ulp(1f), 换算为步数后随范围增大,
+            // 在误差范围内时对齐到最近的步长, 避免 valueToPresent(251) 转换回来变成 250, 否则向下对齐
+            double steps = offset / mStep;
+            double nearest = Math.rint(steps);
+            double tolerance = Math.min(0.5, Math.max(1e-9, FRACTION_ERROR * range / mStep));
+            offset = (Math.abs(steps - nearest) <= tolerance ? nearest : Math.floor(steps)) * mStep;
+        }
+        return Math.min(mMaxValue, mMinValue + offset);
+    }
+
+    private static float clamp(float present) {
+        if (present < 0) return 0;
+        if (present > 1) return 1;
+        return present;
+    }
+}
@@ -0,0 +1,526 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.graphics.SweepGradient;
+import android.util.LruCache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 作用: 圆弧绘制资源
+ * 作者: GcsSloop
+ * 摘要: 圆弧路径、描边路径、渐变、阴影遮罩和静态图层只与样式和尺寸相关, 与进度无关,
+ * 因此在进程内缓存, 相同配置的 ArcSeekBar 共享同一份资源.
+ * 1. 依赖关系
+ * -  路径和阴影遮罩只依赖(圆弧宽度, 开口角度, 描边宽度, 阴影半径, 尺寸, 内边距), 以此为键缓存 ArcLayers.
+ * -  静态图层额外依赖颜色查找表、描边颜色和刻度配置, 以(ArcLayers, 颜色查找表, 描边颜色, 刻度)为键单独缓存,
+ * -  因此修改颜色只会重新生成渐变和静态图层, 不会重新计算路径和模糊阴影.
+ * -  所有资源都在未旋转的绘制坐标系中生成, 绘制时随画布旋转, 因此修改旋转角度不需要重建任何资源,
+ * -  唯一的例外是刻度文字, 它需要反向旋转以保持正向, 并且显示的是数值,
+ * -  因此只有显示刻度文字时静态图层才与旋转角度、数值范围、步长和数值曲线相关.
+ * 2. 不可变
+ * -  创建后不再修改, 多个 View 可以同时使用, 也不会被任何 View 回收.
+ * 3. 缓存
+ * -  缓存按位图占用的内存计算大小, 超出上限时淘汰最久未使用的资源, 仍在使用的 View 继续持有引用不受影响.
+ * 4. 刻度
+ * -  刻度线端点由 {@link ArcGeometry#computeTicks(int, int, float, float)} 一次计算到同一个数组中, 用一次 drawLines 绘制,
+ * -  刻度文字只在生成静态图层时测量和绘制一次, 之后每一帧刻度都不产生额外的绘制调用.
+ * -  刻度均匀分布在进度上, 刻度文字是该进度经过数值曲线得到的数值, 与拖动按钮在该位置时的数值一致,
+ * -  线性曲线的小数位数按数值范围和刻度间隔计算, 非线性曲线按步长计算, 小数范围也能正确显示.
+ * 5. 后台生成
+ * -  路径、阴影模糊和静态图层的生成只使用软件画布, 可以通过 {@link #obtainAsync} 在进程内共享的后台线程中完成,
+ * -  同一时间只有一个后台线程, 多个 View 同时改变尺寸时依次生成, 相同配置的请求在第一个完成后直接命中缓存.
+ * -  生成失败(例如内存不足)时通过 {@link Callback#onLayersFailed(Throwable)} 通知调用者, 不会让调用者一直等待.
+ */
+final class ArcLayers {
+    private static final float CIRCLE_ANGLE = ArcGeometry.CIRCLE_ANGLE;
+    private static final int MAX_SCALE_DECIMALS = 6;    // 刻度文字最多显示的小数位数
+
+    private static final int CACHE_SIZE_KB =
+            (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 1024 / 16);
+
+    // 进程内共享的路径和阴影遮罩, 大小以 KB 计算, 和静态图层各最多使用可用内存的 1/16
+    private static final LruCache<Key, ArcLayers> sLayers = new LruCache<Key, ArcLayers>(CACHE_SIZE_KB) {
+        @Override
+        protected int sizeOf(Key key, ArcLayers layers) {
+            return layers.mByteCount / 1024 + 1;
+        }
+    };
+
+    // 进程内共享的静态图层
+    private static final LruCache<LayerKey, Bitmap> sStaticLayers = new LruCache<LayerKey, Bitmap>(CACHE_SIZE_KB) {
+        @Override
+        protected int sizeOf(LayerKey key, Bitmap layer) {
+            return layer.getWidth() * layer.getHeight() * 4 / 1024 + 1;
+        }
+    };
+
+    // 后台生成资源的线程, 所有 View 共用
+    private static final Executor sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ArcSeekBar-layers");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    });
+
+    /**
+     * 后台生成完成的回调, 在后台线程中调用, 成功和失败只会回调其中一个
+     */
+    interface Callback {
+        void onLayersReady(ArcLayers layers, Bitmap staticLayer);
+
+        /**
+         * 生成失败, 例如内存不足无法创建阴影遮罩或静态图层
+         */
+        void onLayersFailed(Throwable error);
+    }
+
+    private final int mWidth;
+    private final int mHeight;
+    private final int mBorderWidth;
+    private final ArcGeometry mGeometry = new ArcGeometry();
+
+    private final Path mSeekPath = new Path();
+    private final Path mBorderPath = new Path();
+
+    private Bitmap mHaloMask;       // 圆弧阴影遮罩, 没有阴影时为 null
+    private float mHaloMaskLeft;
+    private float mHaloMaskTop;
+    private final int mByteCount;   // 阴影遮罩占用的内存
+
+    private ArcLayers(ArcSeekBarStyle style, int width, int height, int paddingLeft, int paddingTop,
+                      int paddingRight, int paddingBottom) {
+        mWidth = width;
+        mHeight = height;
+        mBorderWidth = style.getBorderWidth();
+        style.applyTo(mGeometry);
+        mGeometry.layout(width, height, paddingLeft, paddingTop, paddingRight, paddingBottom, style.getLayoutInset());
+
+        float centerX = mGeometry.getCenterX();
+        float centerY = mGeometry.getCenterY();
+        float radius = mGeometry.getRadius();
+        RectF rect = new RectF(centerX - radius, centerY - radius, centerX + radius, centerY + radius);
+        mSeekPath.addArc(rect, mGeometry.getStartAngle(), mGeometry.getSweepAngle());
+        buildBorderPath(rect);
+        buildHaloMask(rect, style.getShadowRadius());
+        mByteCount = null != mHaloMask ? mHaloMask.getWidth() * mHaloMask.getHeight() : 0;
+    }
+
+    /**
+     * 获取指定样式和尺寸的绘制资源, 已经存在时直接复用
+     */
+    static ArcLayers obtain(ArcSeekBarStyle style, int width, int height, int paddingLeft, int paddingTop,
+                            int paddingRight, int paddingBottom) {
+        Key key = new Key(style, width, height, paddingLeft, paddingTop, paddingRight, paddingBottom);
+        ArcLayers layers = sLayers.get(key);
+        if (null == layers) {
+            layers = new ArcLayers(style, width, height, paddingLeft, paddingTop, paddingRight, paddingBottom);
+            sLayers.put(key, layers);
+        }
+        return layers;
+    }
+
+    /**
+     * 只获取已经缓存的绘制资源, 不存在时返回 null, 不会生成新的资源
+     */
+    static ArcLayers peek(ArcSeekBarStyle style, int width, int height, int paddingLeft, int paddingTop,
+                          int paddingRight, int paddingBottom) {
+        return sLayers.get(new Key(style, width, height, paddingLeft, paddingTop, paddingRight, paddingBottom));
+    }
+
+    /**
+     * 在后台线程中获取绘制资源和静态图层, 完成或失败后在后台线程中回调
+     *
+     * @param minValue 最小数值, 只用于刻度文字
+     * @param maxValue 最大数值, 只用于刻度文字
+     * @param step     步长, 只用于刻度文字
+     * @param mapping  数值曲线, 只用于刻度文字
+     */
+    static void obtainAsync(final ArcSeekBarStyle style, final int width, final int height,
+                            final int paddingLeft, final int paddingTop, final int paddingRight, final int paddingBottom,
+                            final double minValue, final double maxValue, final double step,
+                            final ArcValueMapping mapping, final Callback callback) {
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                ArcLayers layers;
+                Bitmap staticLayer;
+                try {
+                    layers = obtain(style, width, height, paddingLeft, paddingTop, paddingRight, paddingBottom);
+                    staticLayer = layers.getStaticLayer(style, minValue, maxValue, step, mapping);
+                } catch (Throwable error) {
+                    // 不能让错误留在后台线程中, 否则调用者会一直等待结果
+                    callback.onLayersFailed(error);
+                    return;
+                }
+                callback.onLayersReady(layers, staticLayer);
+            }
+        });
+    }
+
+    // 生成圆弧轮廓路径(外圆弧 + 结束端半圆 + 内圆弧 + 开始端半圆), 与圆弧画笔描边后的轮廓一致
+    private void buildBorderPath(RectF rect) {
+        float[] pos = new float[2];
+        float half = mGeometry.getArcWidth() / 2;
+        float startAngle = mGeometry.getStartAngle();
+        float sweepAngle = Math.min(mGeometry.getSweepAngle(), CIRCLE_ANGLE - 0.01f); // arcTo 的扫过角度会对 360 取模
+        RectF temp = new RectF(rect);
+        temp.inset(-half, -half);
+        mBorderPath.arcTo(temp, startAngle, sweepAngle, true);
+        mGeometry.computePos(1, pos);
+        temp.set(pos[0] - half, pos[1] - half, pos[0] + half, pos[1] + half);
+        mBorderPath.arcTo(temp, startAngle + sweepAngle, 180);
+        temp.set(rect);
+        temp.inset(half, half);
+        mBorderPath.arcTo(temp, startAngle + sweepAngle, -sweepAngle);
+        mGeometry.computePos(0, pos);
+        temp.set(pos[0] - half, pos[1] - half, pos[0] + half, pos[1] + half);
+        mBorderPath.arcTo(temp, startAngle + 180, 180);
+        mBorderPath.close();
+    }
+
+    // 生成渐变, sRGB 插值与 SweepGradient 一致, 直接使用原始颜色, 其余插值方式使用查找表作为渐变颜色
+    private SweepGradient createShader(ArcColorTable colorTable) {
+        int[] colors = colorTable.getInterpolation() == ArcColorTable.INTERPOLATION_RGB
+                ? colorTable.getColors() : colorTable.getTable();
+        float openAngle = mGeometry.getOpenAngle();
+        float startPos = (openAngle / 2) / CIRCLE_ANGLE;
+        float stopPos = (CIRCLE_ANGLE - (openAngle / 2)) / CIRCLE_ANGLE;
+        int len = colors.length - 1;
+        float distance = (stopPos - startPos) / len;
+        float pos[] = new float[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            pos[i] = startPos + (distance * i);
+        }
+        return new SweepGradient(mGeometry.getCenterX(), mGeometry.getCenterY(), colors, pos);
+    }
+
+    // 生成圆弧阴影遮罩, 模糊在软件画布上只进行一次
+    private void buildHaloMask(RectF bounds, int shadowRadius) {
+        int borderWidth = mBorderWidth;
+        if (shadowRadius <= 0) {
+            return;
+        }
+        float blur = shadowRadius * 2;
+        mBorderPath.computeBounds(bounds, true);
+        bounds.inset(-(blur + borderWidth), -(blur + borderWidth));
+        mHaloMaskLeft = (float) Math.floor(bounds.left);
+        mHaloMaskTop = (float) Math.floor(bounds.top);
+        int width = Math.max(1, (int) Math.ceil(bounds.right - mHaloMaskLeft));
+        int height = Math.max(1, (int) Math.ceil(bounds.bottom - mHaloMaskTop));
+        mHaloMask = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+
+        Paint shadowPaint = new Paint();
+        shadowPaint.setAntiAlias(true);
+        shadowPaint.setStrokeWidth(borderWidth);
+        shadowPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        shadowPaint.setMaskFilter(new BlurMaskFilter(blur, BlurMaskFilter.Blur.NORMAL));
+        Canvas canvas = new Canvas(mHaloMask);
+        canvas.translate(-mHaloMaskLeft, -mHaloMaskTop);
+        canvas.drawPath(mBorderPath, shadowPaint);
+    }
+
+    /**
+     * 获取静态图层(圆弧、描边与刻度), 静态图层位于未旋转的绘制坐标系中,
+     * 可以在任意线程调用, 并发调用时可能重复生成, 结果相同
+     *
+     * @param style    提供颜色查找表、描边颜色和刻度配置
+     * @param minValue 最小数值, 只用于刻度文字
+     * @param maxValue 最大数值, 只用于刻度文字
+     * @param step     步长, 只用于非线性曲线的刻度文字
+     * @param mapping  数值曲线, 只用于刻度文字
+     */
+    Bitmap getStaticLayer(ArcSeekBarStyle style, double minValue, double maxValue, double step,
+                          ArcValueMapping mapping) {
+        if (mWidth <= 0 || mHeight <= 0) {
+            return null;
+        }
+        LayerKey key = new LayerKey(this, style, minValue, maxValue, step, mapping);
+        Bitmap layer = sStaticLayers.get(key);
+        if (null == layer) {
+            layer = Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(layer);
+            Paint arcPaint = new Paint();
+            arcPaint.setAntiAlias(true);
+            arcPaint.setStrokeWidth(mGeometry.getArcWidth());
+            arcPaint.setStyle(Paint.Style.STROKE);
+            arcPaint.setStrokeCap(Paint.Cap.ROUND);
+            arcPaint.setShader(createShader(style.getColorTable()));
+            canvas.drawPath(mSeekPath, arcPaint);
+            if (mBorderWidth > 0) {
+                Paint borderPaint = new Paint();
+                borderPaint.setAntiAlias(true);
+                borderPaint.setColor(style.getBorderColor());
+                borderPaint.setStrokeWidth(mBorderWidth);
+                borderPaint.setStyle(Paint.Style.STROKE);
+                canvas.drawPath(mBorderPath, borderPaint);
+            }
+            if (style.getTickCount() > 0) {
+                drawScale(canvas, style, minValue, maxValue, step, mapping);
+            }
+            sStaticLayers.put(key, layer);
+        }
+        return layer;
+    }
+
+    // 绘制刻度线和刻度文字, 刻度位于圆弧(包含描边)内侧, 与圆弧间隔半个主刻度长度
+    private void drawScale(Canvas canvas, ArcSeekBarStyle style, double minValue, double maxValue, double step,
+                           ArcValueMapping mapping) {
+        int count = style.getTickCount();
+        float length = style.getTickLength();
+        float outerRadius = mGeometry.getRadius() - mGeometry.getArcWidth() / 2 - mBorderWidth - length / 2;
+        Paint tickPaint = new Paint();
+        tickPaint.setAntiAlias(true);
+        tickPaint.setColor(style.getTickColor());
+        tickPaint.setStrokeWidth(style.getTickWidth());
+        tickPaint.setStrokeCap(Paint.Cap.ROUND);
+        canvas.drawLines(mGeometry.computeTicks(count, style.getMinorTickCount(), outerRadius, length), tickPaint);
+        if (!style.hasScaleLabels()) {
+            return;
+        }
+        Paint textPaint = new Paint();
+        textPaint.setAntiAlias(true);
+        textPaint.setColor(style.getScaleTextColor());
+        textPaint.setTextSize(style.getScaleTextSize());
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        Paint.FontMetrics metrics = new Paint.FontMetrics();
+        textPaint.getFontMetrics(metrics);
+        float halfHeight = (metrics.descent - metrics.ascent) / 2;
+        float baselineOffset = -(metrics.ascent + metrics.descent) / 2;
+        float rotateAngle = style.getRotateAngle();
+        float[] pos = new float[2];
+        String[] labels = scaleLabels(minValue, maxValue, step, mapping, count);
+        for (int i = 0; i <= count; i++) {
+            float present = i * 1.0f / count;
+            String text = labels[i];
+            float halfWidth = textPaint.measureText(text) / 2;
+            // 按文字在 View 坐标系中的方向计算径向占用的距离, 使文字外边缘与刻度保持相同间隔
+            double radians = Math.toRadians(rotateAngle + mGeometry.getStartAngle() + mGeometry.getSweepAngle() * present);
+            float extent = (float) (Math.abs(Math.cos(radians)) * halfWidth + Math.abs(Math.sin(radians)) * halfHeight);
+            mGeometry.computePos(present, outerRadius - length * 1.5f - extent, pos);
+            canvas.save();
+            canvas.rotate(-rotateAngle, pos[0], pos[1]);
+            canvas.drawText(text, pos[0], pos[1] + baselineOffset, textPaint);
+            canvas.restore();
+        }
+    }
+
+    /**
+     * 计算刻度文字, 第 i 个刻度位于进度 i / count, 文字为该进度经过数值曲线并对齐到步长后的数值
+     *
+     * @return count + 1 个刻度文字
+     */
+    static String[] scaleLabels(double minValue, double maxValue, double step, ArcValueMapping mapping, int count) {
+        String[] labels = new String[count + 1];
+        ArcGeometry values = null;
+        int decimals;
+        if (mapping.isLinear()) {
+            // 线性曲线直接按刻度间隔计算, 刻度不一定落在步长上, 显示精确的刻度数值
+            decimals = scaleDecimals(minValue, maxValue, count);
+        } else {
+            values = new ArcGeometry();
+            values.setRange(minValue, maxValue, step);
+            values.setMapping(mapping);
+            decimals = mappedScaleDecimals(minValue, maxValue, step);
+        }
+        for (int i = 0; i <= count; i++) {
+            double value;
+            if (i == count) {
+                value = maxValue;
+            } else if (null == values) {
+                value = minValue + (maxValue - minValue) * i / count;
+            } else {
+                value = values.presentToExactValue(i * 1.0f / count);
+            }
+            labels[i] = BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+        }
+        return labels;
+    }
+
+    // 刻度文字需要的小数位数, 使每个刻度的数值都能精确显示, 例如 [0, 1] 分 4 段时为 2 位
+    static int scaleDecimals(double minValue, double maxValue, int count) {
+        double interval = (maxValue - minValue) / count;
+        for (int decimals = 0; decimals < MAX_SCALE_DECIMALS; decimals++) {
+            double scale = Math.pow(10, decimals);
+            if (isInteger(minValue * scale) && isInteger(interval * scale)) {
+                return decimals;
+            }
+        }
+        return MAX_SCALE_DECIMALS;
+    }
+
+    // 非线性曲线的刻度数值不是等差的, 有步长时按步长计算小数位数, 连续变化时按数值范围保留约 3 位有效数字
+    static int mappedScaleDecimals(double minValue, double maxValue, double step) {
+        if (step > 0) {
+            return scaleDecimals(minValue, minValue + step, 1);
+        }
+        int magnitude = (int) Math.floor(Math.log10(maxValue - minValue));
+        return Math.max(0, Math.min(MAX_SCALE_DECIMALS, 2 - magnitude));
+    }
+
+    private static boolean isInteger(double value) {
+        return Math.abs(value - Math.rint(value)) <= 1e-9 * Math.max(1, Math.abs(value));
+    }
+
+    Bitmap getHaloMask() {
+        return mHaloMask;
+    }
+
+    float getHaloMaskLeft() {
+        return mHaloMaskLeft;
+    }
+
+    float getHaloMaskTop() {
+        return mHaloMaskTop;
+    }
+
+    // 路径和阴影遮罩的缓存键, 只包含影响几何形状的配置
+    private static final class Key {
+        final float arcWidth;
+        final float openAngle;
+        final int borderWidth;
+        final int shadowRadius;
+        final int width;
+        final int height;
+        final int paddingLeft;
+        final int paddingTop;
+        final int paddingRight;
+        final int paddingBottom;
+
+        Key(ArcSeekBarStyle style, int width, int height, int paddingLeft, int paddingTop,
+            int paddingRight, int paddingBottom) {
+            this.arcWidth = style.getArcWidth();
+            this.openAngle = style.getOpenAngle();
+            this.borderWidth = style.getBorderWidth();
+            this.shadowRadius = style.getShadowRadius();
+            this.width = width;
+            this.height = height;
+            this.paddingLeft = paddingLeft;
+            this.paddingTop = paddingTop;
+            this.paddingRight = paddingRight;
+            this.paddingBottom = paddingBottom;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return width == other.width && height == other.height
+                    && paddingLeft == other.paddingLeft && paddingTop == other.paddingTop
+                    && paddingRight == other.paddingRight && paddingBottom == other.paddingBottom
+                    && Float.compare(arcWidth, other.arcWidth) == 0
+                    && Float.compare(openAngle, other.openAngle) == 0
+                    && borderWidth == other.borderWidth && shadowRadius == other.shadowRadius;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(arcWidth);
+            result = 31 * result + Float.floatToIntBits(openAngle);
+            result = 31 * result + borderWidth;
+            result = 31 * result + shadowRadius;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + paddingLeft;
+            result = 31 * result + paddingTop;
+            result = 31 * result + paddingRight;
+            result = 31 * result + paddingBottom;
+            return result;
+        }
+    }
+
+    // 静态图层的缓存键, 颜色查找表在进程内共享, 直接按实例比较,
+    // 旋转角度、数值范围、步长和数值曲线只在显示刻度文字时参与比较, 其余情况下修改它们不需要重建静态图层,
+    // 数值曲线不可变, 直接按实例比较, 步长只影响非线性曲线的刻度文字
+    private static final class LayerKey {
+        final ArcLayers layers;
+        final ArcColorTable colorTable;
+        final int borderColor;
+        final int tickCount;
+        final int minorTickCount;
+        final float tickLength;
+        final float tickWidth;
+        final int tickColor;
+        final float scaleTextSize;
+        final int scaleTextColor;
+        final float scaleRotateAngle;
+        final double minValue;
+        final double maxValue;
+        final double step;
+        final ArcValueMapping mapping;
+
+        LayerKey(ArcLayers layers, ArcSeekBarStyle style, double minValue, double maxValue, double step,
+                 ArcValueMapping mapping) {
+            this.layers = layers;
+            this.colorTable = style.getColorTable();
+            this.borderColor = style.getBorderColor();
+            boolean ticks = style.getTickCount() > 0;
+            boolean labels = style.hasScaleLabels();
+            this.tickCount = style.getTickCount();
+            this.minorTickCount = ticks ? style.getMinorTickCount() : 0;
+            this.tickLength = ticks ? style.getTickLength() : 0;
+            this.tickWidth = ticks ? style.getTickWidth() : 0;
+            this.tickColor = ticks ? style.getTickColor() : 0;
+            this.scaleTextSize = labels ? style.getScaleTextSize() : 0;
+            this.scaleTextColor = labels ? style.getScaleTextColor() : 0;
+            this.scaleRotateAngle = labels ? style.getRotateAngle() : 0;
+            this.minValue = labels ? minValue : 0;
+            this.maxValue = labels ? maxValue : 0;
+            this.mapping = labels ? mapping : null;
+            this.step = labels && !mapping.isLinear() ? step : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LayerKey)) return false;
+            LayerKey other = (LayerKey) o;
+            return layers == other.layers && colorTable == other.colorTable && borderColor == other.borderColor
+                    && tickCount == other.tickCount && minorTickCount == other.minorTickCount
+                    && Float.compare(tickLength, other.tickLength) == 0
+                    && Float.compare(tickWidth, other.tickWidth) == 0
+                    && tickColor == other.tickColor
+                    && Float.compare(scaleTextSize, other.scaleTextSize) == 0
+                    && scaleTextColor == other.scaleTextColor
+                    && Float.compare(scaleRotateAngle, other.scaleRotateAngle) == 0
+                    && Double.compare(minValue, other.minValue) == 0 && Double.compare(maxValue, other.maxValue) == 0
+                    && Double.compare(step, other.step) == 0 && mapping == other.mapping;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(layers);
+            result = 31 * result + System.identityHashCode(colorTable);
+            result = 31 * result + borderColor;
+            result = 31 * result + tickCount;
+            result = 31 * result + minorTickCount;
+            result = 31 * result + Float.floatToIntBits(tickLength);
+            result = 31 * result + Float.floatToIntBits(tickWidth);
+            result = 31 * result + tickColor;
+            result = 31 * result + Float.floatToIntBits(scaleTextSize);
+            result = 31 * result + scaleTextColor;
+            result = 31 * result + Float.floatToIntBits(scaleRotateAngle);
+            long bits = Double.doubleToLongBits(minValue);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            bits = Double.doubleToLongBits(maxValue);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            bits = Double.doubleToLongBits(step);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            result = 31 * result + System.identityHashCode(mapping);
+            return result;
+        }
+    }
+}
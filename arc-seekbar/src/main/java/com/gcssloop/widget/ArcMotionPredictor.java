@@ -0,0 +1,91 @@
+package com.gcssloop.widget;
+
+/**
+ * 作用: 拖动位置预测
+ * 作者: GcsSloop
+ * 摘要: 快速拖动时拖动按钮至少落后手指一帧, 根据最近的几个采样点外推出下一帧时的进度百分比, 只用于绘制拖动按钮.
+ * 1. 预测方式
+ * -  进度百分比与圆弧角度成正比, 因此直接在进度百分比上预测, 即角度位置的预测.
+ * -  对最近 {@link #MAX_SAMPLE_AGE} ms 内的采样做最小二乘直线拟合得到速度, 再按时间外推.
+ * 2. 限制
+ * -  外推距离不超过 {@link #MAX_PREDICTION}, 结果限制在 [0, 1] 内,
+ * -  相邻采样跳变超过一半时(跨越开口)视为新的拖动, 清空之前的采样.
+ * 3. 零分配
+ * -  采样保存在固定大小的环形数组中, 只使用基本数据类型, 不依赖任何 Android 类.
+ */
+final class ArcMotionPredictor {
+    static final int MAX_SAMPLES = 8;               // 最多保留的采样数量
+    static final long MAX_SAMPLE_AGE = 50;          // 参与拟合的采样最长时间 ms
+    static final float MAX_PREDICTION = 0.1f;       // 最大外推距离(进度百分比)
+
+    private final long[] mTimes = new long[MAX_SAMPLES];
+    private final float[] mValues = new float[MAX_SAMPLES];
+    private int mCount;     // 当前采样数量
+    private int mLast = -1; // 最新采样的位置
+
+    /**
+     * 清空所有采样, 每次开始拖动时调用
+     */
+    void reset() {
+        mCount = 0;
+        mLast = -1;
+    }
+
+    /**
+     * 添加一个真实采样
+     *
+     * @param time  采样时间 ms
+     * @param value 采样对应的进度百分比
+     */
+    void addSample(long time, float value) {
+        if (mCount > 0) {
+            if (Math.abs(value - mValues[mLast]) > 0.5f) {
+                reset();
+            } else if (time <= mTimes[mLast]) {
+                // 同一时间的多个采样只保留最新的
+                mValues[mLast] = value;
+                return;
+            }
+        }
+        mLast = (mLast + 1) % MAX_SAMPLES;
+        mTimes[mLast] = time;
+        mValues[mLast] = value;
+        if (mCount < MAX_SAMPLES) {
+            mCount++;
+        }
+    }
+
+    /**
+     * 预测指定时间的进度百分比
+     *
+     * @param time 预测时间 ms, 通常为最新采样时间加上一帧
+     * @return 预测的进度百分比, 采样不足时返回最新采样
+     */
+    float predict(long time) {
+        if (mCount == 0) return 0;
+        long lastTime = mTimes[mLast];
+        float lastValue = mValues[mLast];
+        if (mCount < 2) return lastValue;
+        // 以最新采样为原点做最小二乘拟合, 避免大数值相减损失精度
+        int n = 0;
+        float sumT = 0, sumV = 0, sumTT = 0, sumTV = 0;
+        for (int i = 0; i < mCount; i++) {
+            int index = (mLast - i + MAX_SAMPLES) % MAX_SAMPLES;
+            long dt = mTimes[index] - lastTime;
+            if (-dt > MAX_SAMPLE_AGE) break;
+            float t = dt;
+            float v = mValues[index] - lastValue;
+            sumT += t;
+            sumV += v;
+            sumTT += t * t;
+            sumTV += t * v;
+            n++;
+        }
+        float denominator = n * sumTT - sumT * sumT;
+        if (n < 2 || denominator == 0) return lastValue;
+        float velocity = (n * sumTV - sumT * sumV) / denominator;
+        float delta = velocity * (time - lastTime);
+        delta = Math.max(-MAX_PREDICTION, Math.min(MAX_PREDICTION, delta));
+        return Math.max(0, Math.min(1, lastValue + delta));
+    }
+}
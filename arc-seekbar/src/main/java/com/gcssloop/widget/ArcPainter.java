@@ -0,0 +1,56 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * 作用: 圆弧绘制流程
+ * 作者: GcsSloop
+ * 摘要: ArcSeekBar 和 ArcRenderer 共用的绘制流程, 依次绘制阴影着色、静态图层和拖动按钮精灵,
+ * 每一帧只有三次位图绘制, 只持有绘制时会修改状态的画笔, 路径、渐变和位图均来自共享的
+ * {@link ArcLayers} 和 {@link ArcSeekBarStyle}.
+ * 绘制过程中不创建新对象, 每个 View 或渲染器各自持有一个实例, 不能在多个线程中同时使用.
+ */
+final class ArcPainter {
+    private final Paint mMaskPaint;     // 用于着色阴影遮罩
+    private final Paint mLayerPaint;    // 用于绘制旋转后的静态图层和拖动按钮精灵
+
+    ArcPainter() {
+        mMaskPaint = new Paint();
+        mMaskPaint.setAntiAlias(true);
+        mMaskPaint.setFilterBitmap(true);
+        mLayerPaint = new Paint();
+        mLayerPaint.setFilterBitmap(true);
+    }
+
+    /**
+     * 绘制圆弧和拖动按钮
+     *
+     * @param geometry    已经完成布局的几何信息
+     * @param layers      当前样式和尺寸下的共享资源
+     * @param staticLayer 当前样式下的静态图层, 为 null 时不绘制
+     * @param thumbX      拖动按钮中心 X(绘制坐标系)
+     * @param thumbY      拖动按钮中心 Y(绘制坐标系)
+     * @param haloColor   阴影着色颜色
+     */
+    void draw(Canvas canvas, ArcSeekBarStyle style, ArcGeometry geometry, ArcLayers layers, Bitmap staticLayer,
+             float thumbX, float thumbY, int haloColor) {
+        // 所有缓存资源都位于未旋转的绘制坐标系中, 修改旋转角度不需要重建
+        canvas.save();
+        canvas.rotate(geometry.getRotateAngle(), geometry.getCenterX(), geometry.getCenterY());
+        Bitmap haloMask = layers.getHaloMask();
+        if (null != haloMask) {
+            // 阴影遮罩只需要着色, 不会重新模糊
+            mMaskPaint.setColor(haloColor);
+            canvas.drawBitmap(haloMask, layers.getHaloMaskLeft(), layers.getHaloMaskTop(), mMaskPaint);
+        }
+        if (null != staticLayer) {
+            canvas.drawBitmap(staticLayer, 0, 0, mLayerPaint);
+        }
+        // 拖动按钮的外观在拖动过程中不会变化, 直接绘制预先生成的精灵
+        float offset = style.getThumbSpriteOffset();
+        canvas.drawBitmap(style.getThumbSprite(), thumbX - offset, thumbY - offset, mLayerPaint);
+        canvas.restore();
+    }
+}
@@ -0,0 +1,240 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+
+/**
+ * 作用: 圆弧离屏渲染器
+ * 作者: GcsSloop
+ * 摘要: 不依赖 View, 将(样式, 进度, 尺寸)直接绘制到位图中, 用于桌面小部件、通知和分享图片等无法使用 View 的场景.
+ * 1. 绘制流程
+ * -  与 ArcSeekBar 共用 {@link ArcPainter} 的绘制流程, 以及进程内共享的路径、阴影遮罩和静态图层,
+ * -  相同样式和尺寸下每次渲染只需要一次绘制, 不需要创建、测量和布局 View.
+ * 2. 位图复用
+ * -  可以绘制到调用者提供的位图中, 也可以从渲染器的位图池中获取位图, 使用完毕后通过 {@link #release(Bitmap)} 归还.
+ * 3. 帧缓存
+ * -  通过 {@link #setFrameCacheSteps(int)} 开启后, 进度会被量化为固定数量的档位, 每个档位的结果只绘制一次,
+ * -  帧缓存中的位图由渲染器持有, 调用者不能修改或回收, 归还时会被忽略.
+ * 4. 刻度文字
+ * -  刻度文字显示的是数值, 通过 {@link #setRange(double, double)} 设置数值范围, 默认为 [0, 100],
+ * -  通过 {@link #setValueMapping(ArcValueMapping)} 设置与 ArcSeekBar 相同的数值曲线.
+ * -  不绘制中心数值文字, 它只由 ArcSeekBar 绘制, 需要时调用者可以在返回的位图上自行绘制.
+ * 5. 线程
+ * -  渲染器可以在任意线程创建和使用, 但同一个实例不能同时在多个线程中使用.
+ */
+public final class ArcRenderer {
+    private static final int MAX_POOL_SIZE = 4;             // 位图池最多保留的位图数量
+
+    private final ArcPainter mPainter = new ArcPainter();
+    private final ArcGeometry mGeometry = new ArcGeometry();
+    private final float[] mTempPos = new float[2];
+    private final Canvas mCanvas = new Canvas();
+    private final ArrayList<Bitmap> mPool = new ArrayList<Bitmap>(MAX_POOL_SIZE);
+
+    private int mFrameSteps = 0;                    // 帧缓存的进度档位数量, 为 0 时不缓存
+    private LruCache<FrameKey, Bitmap> mFrames;     // 帧缓存
+    private final int mFrameCacheSize;              // 帧缓存大小 KB
+    private double mMinValue = 0;                   // 刻度文字的最小数值
+    private double mMaxValue = 100;                 // 刻度文字的最大数值
+    private ArcValueMapping mMapping = ArcValueMapping.LINEAR;  // 刻度文字的数值曲线
+
+    public ArcRenderer() {
+        this((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 1024 / 32));
+    }
+
+    /**
+     * @param frameCacheSize 帧缓存最多占用的内存 KB
+     */
+    public ArcRenderer(int frameCacheSize) {
+        mFrameCacheSize = frameCacheSize;
+    }
+
+    /**
+     * 设置帧缓存的进度档位数量, 开启后进度会被量化到最近的档位, 例如 100 表示每 1% 一帧
+     *
+     * @param steps 档位数量, 为 0 时关闭帧缓存并清空已缓存的帧
+     */
+    public void setFrameCacheSteps(int steps) {
+        if (mFrameSteps == steps) return;
+        mFrameSteps = Math.max(0, steps);
+        if (null != mFrames) {
+            mFrames.evictAll();
+        }
+        mFrames = mFrameSteps > 0 ? new LruCache<FrameKey, Bitmap>(mFrameCacheSize) {
+            @Override
+            protected int sizeOf(FrameKey key, Bitmap frame) {
+                return frame.getWidth() * frame.getHeight() * 4 / 1024 + 1;
+            }
+        } : null;
+    }
+
+    /**
+     * 设置刻度文字对应的数值范围, 只影响显示刻度文字的样式, 修改后会清空帧缓存
+     *
+     * @param min 最小数值
+     * @param max 最大数值, 必须大于最小数值
+     * @throws IllegalArgumentException 最大数值不大于最小数值时
+     */
+    public void setRange(double min, double max) {
+        if (!(max > min)) {
+            throw new IllegalArgumentException("max (" + max + ") must be greater than min (" + min + ")");
+        }
+        if (mMinValue == min && mMaxValue == max) return;
+        mMinValue = min;
+        mMaxValue = max;
+        if (null != mFrames) {
+            mFrames.evictAll();
+        }
+    }
+
+    /**
+     * 设置刻度文字对应的数值曲线, 只影响显示刻度文字的样式, 修改后会清空帧缓存
+     *
+     * @param mapping 数值曲线, 为 null 时使用线性映射
+     */
+    public void setValueMapping(ArcValueMapping mapping) {
+        if (null == mapping) mapping = ArcValueMapping.LINEAR;
+        if (mMapping == mapping) return;
+        mMapping = mapping;
+        if (null != mFrames) {
+            mFrames.evictAll();
+        }
+    }
+
+    /**
+     * 渲染到新的位图中, 开启帧缓存时可能直接返回缓存的位图
+     *
+     * @param style   外观样式
+     * @param present 进度百分比 [0, 1], 可以通过 {@link ArcGeometry#valueToPresent(int)} 由数值计算
+     * @param width   宽度 px
+     * @param height  高度 px
+     * @return 渲染结果, 使用完毕后可以通过 {@link #release(Bitmap)} 归还
+     */
+    public Bitmap render(ArcSeekBarStyle style, float present, int width, int height) {
+        present = Math.max(0, Math.min(1, present));
+        if (mFrameSteps <= 0) {
+            Bitmap bitmap = obtainBitmap(width, height);
+            draw(style, present, bitmap);
+            return bitmap;
+        }
+        int step = Math.round(present * mFrameSteps);
+        FrameKey key = new FrameKey(style, width, height, step);
+        Bitmap frame = mFrames.get(key);
+        if (null == frame) {
+            frame = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            draw(style, step * 1.0f / mFrameSteps, frame);
+            mFrames.put(key, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * 渲染到调用者提供的位图中, 位图原有内容会被清除, 不使用帧缓存
+     *
+     * @param style   外观样式
+     * @param present 进度百分比 [0, 1]
+     * @param target  可修改的 ARGB_8888 位图, 圆弧以位图尺寸居中显示
+     */
+    public void render(ArcSeekBarStyle style, float present, Bitmap target) {
+        draw(style, Math.max(0, Math.min(1, present)), target);
+    }
+
+    /**
+     * 归还通过 {@link #render(ArcSeekBarStyle, float, int, int)} 获取的位图, 归还后调用者不能再使用该位图
+     *
+     * @param bitmap 位图
+     */
+    public void release(Bitmap bitmap) {
+        if (null == bitmap || bitmap.isRecycled() || mPool.contains(bitmap) || isCachedFrame(bitmap)) {
+            return;
+        }
+        if (mPool.size() >= MAX_POOL_SIZE) {
+            mPool.remove(0);
+        }
+        mPool.add(bitmap);
+    }
+
+    /**
+     * 清空位图池和帧缓存
+     */
+    public void clear() {
+        mPool.clear();
+        if (null != mFrames) {
+            mFrames.evictAll();
+        }
+    }
+
+    // 具体绘制, 与 ArcSeekBar.onDraw 使用同一套流程
+    private void draw(ArcSeekBarStyle style, float present, Bitmap target) {
+        int width = target.getWidth();
+        int height = target.getHeight();
+        style.applyTo(mGeometry);
+        mGeometry.layout(width, height, 0, 0, 0, 0, style.getLayoutInset());
+        ArcLayers layers = ArcLayers.obtain(style, width, height, 0, 0, 0, 0);
+        mGeometry.computePos(present, mTempPos);
+
+        target.eraseColor(Color.TRANSPARENT);
+        mCanvas.setBitmap(target);
+        Bitmap staticLayer = layers.getStaticLayer(style, mMinValue, mMaxValue, 0, mMapping);
+        mPainter.draw(mCanvas, style, mGeometry, layers, staticLayer, mTempPos[0], mTempPos[1],
+                style.getColorTable().getColor(present));
+        mCanvas.setBitmap(null);
+    }
+
+    // 从位图池中获取指定尺寸的位图
+    private Bitmap obtainBitmap(int width, int height) {
+        for (int i = mPool.size() - 1; i >= 0; i--) {
+            Bitmap bitmap = mPool.get(i);
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height) {
+                mPool.remove(i);
+                return bitmap;
+            }
+        }
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    // 是否为帧缓存中的位图
+    private boolean isCachedFrame(Bitmap bitmap) {
+        if (null == mFrames) return false;
+        for (Bitmap frame : mFrames.snapshot().values()) {
+            if (frame == bitmap) return true;
+        }
+        return false;
+    }
+
+    // 帧缓存键, 样式在进程内共享, 直接按实例比较
+    private static final class FrameKey {
+        final ArcSeekBarStyle style;
+        final int width;
+        final int height;
+        final int step;
+
+        FrameKey(ArcSeekBarStyle style, int width, int height, int step) {
+            this.style = style;
+            this.width = width;
+            this.height = height;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FrameKey)) return false;
+            FrameKey other = (FrameKey) o;
+            return style == other.style && width == other.width && height == other.height && step == other.step;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(style);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + step;
+            return result;
+        }
+    }
+}
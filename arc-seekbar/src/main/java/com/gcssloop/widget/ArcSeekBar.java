@@ -2,25 +2,23 @@ package com.gcssloop.widget;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
-import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.PathMeasure;
 import android.graphics.RectF;
-import android.graphics.Region;
-import android.graphics.SweepGradient;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.TypedValue;
-import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
-
-import com.gcssloop.arcseekbar.R;
+import android.view.ViewConfiguration;
+import android.view.animation.AnimationUtils;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 
 import static android.view.MotionEvent.ACTION_CANCEL;
 import static android.view.MotionEvent.ACTION_DOWN;
@@ -38,85 +36,97 @@ import static android.view.MotionEvent.ACTION_UP;
  * -  进度是由角度确定的, 先根据当前点击位置和中心点连线与水平线的夹角表示当前角度,
  * -  根据该角度和实际圆弧的角度相关信息推算出当前进度百分比.
  * -  根据百分比和最大数值确定当前实际的进度.
+ * -  圆弧路径只由 addArc 生成, 因此拖动按钮位置和进度均由 {@link ArcGeometry} 直接解析计算, 不需要 PathMeasure.
+ * -  所有与平台无关的几何与数值计算都由 {@link ArcGeometry} 完成, View 只负责绘制和事件分发.
  * 3. 拖动与点击
  * -  为了防止误触, 只有手指按下位置在拖动按钮附近时才可以执行拖动.
  * -  但是用户单击时,可以可以直接跳转进度, 当然,只有点击在圆弧进度条的区域内才允许设置新的进度.
- * -  如何判断是否点击在圆弧区域内,使用了 Region 的相关方法,该 Region 区域是从 Paint 的 getFillPath 得到的.
+ * -  如何判断是否点击在圆弧区域内,直接计算点到圆心的距离是否在圆弧宽度内、角度是否在圆弧范围内, 并单独判断两端的圆角.
  * 4. 进度回调去重
  * -  用户拖动时,判断是否和上次进度相同,如果相同,则不发送回调.
  * 5. 防止突变
  * -  由于进度条时圆弧形状的,因此进度可能会从 0.0 直接突变到 1.0 或者相反,因此在计算进度与当前进度差异过大时,禁止改变当前进度.
+ * 6. 渲染与共享资源
+ * -  默认使用硬件加速渲染, 阴影(外发光)预先模糊成 ALPHA_8 遮罩, 绘制时用画笔颜色着色, 不依赖 setShadowLayer.
+ * -  路径、渐变、阴影遮罩和静态图层只与样式和尺寸相关, 由 {@link ArcLayers} 在进程内缓存, 多个 View 共享,
+ * -  拖动按钮预先绘制成精灵, 每一帧只需要绘制阴影着色、静态图层和拖动按钮, 拖动过程中不会触发任何模糊计算.
+ * -  具体绘制由 {@link ArcPainter} 完成, 与不依赖 View 的 {@link ArcRenderer} 共用同一套绘制流程和共享资源.
+ * 7. 局部刷新
+ * -  只有进度真正发生变化时才会刷新, 刷新区域为拖动按钮新旧位置(包含阴影)的并集,
+ * -  如果阴影颜色也随之改变, 则额外刷新阴影所在的区域.
+ * 8. 零分配
+ * -  按下、拖动、抬起、单击判定、回调与绘制过程中均不创建新对象, 临时数据全部使用成员变量复用,
+ * -  单击判定不使用 GestureDetector, 直接根据按下位置、移动距离和时间判断.
+ * 9. 外观配置
+ * -  外观由不可变的 {@link ArcSeekBarStyle} 描述, View 自身只保存进度、拖动按钮画笔和触摸状态,
+ * -  修改外观时比较新旧样式, 只重新计算受影响的部分, 见 {@link #setStyle(ArcSeekBarStyle)}.
  */
 public class ArcSeekBar extends View {
     private static final int DEFAULT_EDGE_LENGTH = 260;              // 默认宽高
 
-    private static final float CIRCLE_ANGLE = 360;                  // 圆周角
-    private static final int DEFAULT_ARC_WIDTH = 40;                // 默认宽度 dp
-    private static final float DEFAULT_OPEN_ANGLE = 120;            // 开口角度
-    private static final float DEFAULT_ROTATE_ANGLE = 90;           // 旋转角度
-    private static final int DEFAULT_BORDER_WIDTH = 0;              // 默认描边宽度
-    private static final int DEFAULT_BORDER_COLOR = 0xffffffff;     // 默认描边颜色
-
-    private static final int DEFAULT_THUMB_COLOR = 0xffffffff;      // 拖动按钮颜色
-    private static final int DEFAULT_THUMB_WIDTH = 2;               // 拖动按钮描边宽度 dp
-    private static final int DEFAULT_THUMB_RADIUS = 15;             // 拖动按钮半径 dp
-    private static final int DEFAULT_THUMB_SHADOW_RADIUS = 0;       // 拖动按钮阴影半径 dp
-    private static final int DEFAULT_THUMB_SHADOW_COLOR = 0xFF000000; // 拖动按钮阴影颜色
+    public static final int RENDER_MODE_HARDWARE = 0;               // 渲染模式 - 硬件加速
+    public static final int RENDER_MODE_SOFTWARE = 1;               // 渲染模式 - 软件绘制
 
-    private static final int DEFAULT_SHADOW_RADIUS = 0;             // 默认阴影半径 dp
+    public static final int COLOR_INTERPOLATION_RGB = ArcColorTable.INTERPOLATION_RGB;               // 颜色插值 - sRGB
+    public static final int COLOR_INTERPOLATION_LINEAR = ArcColorTable.INTERPOLATION_LINEAR;         // 颜色插值 - 线性光
+    public static final int COLOR_INTERPOLATION_PERCEPTUAL = ArcColorTable.INTERPOLATION_PERCEPTUAL; // 颜色插值 - 感知均匀
 
-    private static final int THUMB_MODE_STROKE = 0;                 // 拖动按钮模式 - 描边
-    private static final int THUMB_MODE_FILL = 1;                   // 拖动按钮模式 - 填充
-    private static final int THUMB_MODE_FILL_STROKE = 2;            // 拖动按钮模式 - 填充+描边
+    public static final int DISPATCH_MODE_IMMEDIATE = 0;            // 进度回调 - 立即回调
+    public static final int DISPATCH_MODE_FRAME = 1;                // 进度回调 - 每帧最多回调一次
 
-    private static final int DEFAULT_MAX_VALUE = 100;               // 默认最大数值
-    private static final int DEFAULT_MIN_VALUE = 0;                 // 默认最小数值
+    public static final int VALUE_LABEL_COLOR_PROGRESS = ArcValueLabel.COLOR_PROGRESS; // 中心数值颜色 - 跟随进度颜色
 
-    private static final String KEY_PROGRESS_PRESENT = "PRESENT";   // 用于存储和获取当前百分比
+    private static final long FALLBACK_FRAME_DELAY = 16;            // 不支持 postOnAnimation 时的帧间隔 ms
+    private static final long PREDICTION_TIME = 16;                 // 拖动位置预测的提前量 ms, 约为一帧
 
-    // 可配置数据
-    private int[] mArcColors;       // Seek 颜色
-    private float mArcWidth;        // Seek 宽度
-    private float mOpenAngle;       // 开口的角度大小 0 - 360
-    private float mRotateAngle;     // 旋转角度
-    private int mBorderWidth;       // 描边宽度
-    private int mBorderColor;       // 描边颜色
+    private static final long DEFAULT_ANIMATION_DURATION = 300;     // 默认进度动画时长 ms
 
-    private int mThumbColor;        // 拖动按钮颜色
-    private float mThumbWidth;      // 拖动按钮宽度
-    private float mThumbRadius;     // 拖动按钮半径
-    private float mThumbShadowRadius;// 拖动按钮阴影半径
-    private int mThumbShadowColor;// 拖动按钮阴影颜色
-    private int mThumbMode;         // 拖动按钮模式
-
-    private int mShadowRadius;      // 阴影半径
+    private static final String KEY_PROGRESS_PRESENT = "PRESENT";   // 用于存储和获取当前百分比
+    private static final String KEY_VALUE = "VALUE";                // 用于存储和获取当前数值
 
-    private int mMaxValue;          // 最大数值
-    private int mMinValue;          // 最小数值
+    private static Handler sMainHandler;    // 非 UI 线程设置进度时切换到 UI 线程
 
-    private float mCenterX;         // 圆弧 SeekBar 中心点 X
-    private float mCenterY;         // 圆弧 SeekBar 中心点 Y
+    // 可配置数据
+    private ArcSeekBarStyle mStyle; // 外观样式, 可能与其它 View 共享
+    private boolean mRotationPending;   // 旋转角度只写入了 mGeometry, 尚未合并到 mStyle
+    private int mRenderMode;        // 渲染模式
+    private float mTouchSlop;       // 圆弧外额外允许点击的范围
+    private int mDispatchMode;      // 拖动时进度回调方式
+    private boolean mInteractive;   // 是否允许用户交互, 只读时不创建任何触摸相关的对象
+    private ArcMotionPredictor mPredictor;  // 拖动位置预测, 未开启时为 null
+    private ArcValueLabel mValueLabel;      // 中心数值文字, 未开启时为 null
+    private boolean mAsyncLayout;           // 尺寸变化时是否在后台线程生成绘制资源
+    private double mRequestedMin;           // 单独设置的最小数值, 与最大数值组成有效范围后才生效
+    private double mRequestedMax;           // 单独设置的最大数值
+
+    // 几何配置(宽度、开口角度、旋转角度、数值范围)与布局结果(中心点、半径)
+    private final ArcGeometry mGeometry = new ArcGeometry();
 
     private float mThumbX;         // 拖动按钮 中心点 X
     private float mThumbY;         // 拖动按钮 中心点 Y
 
-    private Path mSeekPath;
-    private Path mBorderPath;
-    private Paint mArcPaint;
-    private Paint mThumbPaint;
-    private Paint mBorderPaint;
-    private Paint mShadowPaint;
+    private ArcLayers mLayers;      // 当前样式和尺寸下共享的路径与阴影遮罩, 后台生成期间为 null
+    private int mLayoutGeneration;  // 布局次数, 用于丢弃过期的后台生成结果
+    private boolean mLayersPending; // 是否正在后台生成绘制资源
+    private Paint mPlaceholderPaint;    // 后台生成期间绘制占位圆弧, 第一次使用时创建
+    private RectF mPlaceholderRect;
+    private Bitmap mStaticLayer;    // 当前样式和尺寸下共享的静态图层, 颜色变化后重新获取
+    private final ArcPainter mPainter = new ArcPainter();   // 与 ArcRenderer 共用的绘制流程
+    private ArcSeekBarMetrics mMetrics;                     // 性能指标, 未开启时为 null
 
-    private float[] mTempPos;
-    private float[] mTempTan;
-    private PathMeasure mSeekPathMeasure;
+    private final float[] mTempPos = new float[2];
 
     private float mProgressPresent = 0;         // 当前进度百分比
+    private double mValue = 0;                  // 当前数值, 按数值设置时保存精确值, 不受进度百分比 float 精度的限制
     private boolean mCanDrag = false;           // 是否允许拖动
     private boolean mAllowTouchSkip = false;    // 是否允许越过边界
-    private GestureDetector mDetector;
-    private Matrix mInvertMatrix;               // 逆向 Matrix, 用于计算触摸坐标和绘制坐标的转换
-    private Region mArcRegion;                  // ArcPath的实际区域大小,用于判定单击事件
+    private int mTapSlopSquare;                 // 单击允许的移动范围(平方)
+    private float mDownX;                       // 按下位置 X
+    private float mDownY;                       // 按下位置 Y
+    private boolean mInTapRegion = false;       // 是否仍在单击允许的范围内
+    private RectF mDirtyRect;                   // 需要刷新的区域
+    private RectF mBatchDirtyRect;              // 处理一个触摸事件期间合并的刷新区域
+    private boolean mBatchingInvalidate;        // 是否正在合并刷新区域
 
 
     public ArcSeekBar(Context context) {
@@ -130,128 +140,72 @@ public class ArcSeekBar extends View {
     public ArcSeekBar(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
         setSaveEnabled(true);
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
         initAttrs(context, attrs);
         initData();
-        initPaint();
+        applyRenderMode();
     }
 
     //--- 初始化 -----------------------------------------------------------------------------------
 
     // 初始化各种属性
     private void initAttrs(Context context, AttributeSet attrs) {
-        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.ArcSeekBar);
-        mArcColors = getArcColors(context, ta);
-        mArcWidth = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_width, dp2px(DEFAULT_ARC_WIDTH));
-        mOpenAngle = ta.getFloat(R.styleable.ArcSeekBar_arc_open_angle, DEFAULT_OPEN_ANGLE);
-        mRotateAngle = ta.getFloat(R.styleable.ArcSeekBar_arc_rotate_angle, DEFAULT_ROTATE_ANGLE);
-        mMaxValue = ta.getInt(R.styleable.ArcSeekBar_arc_max, DEFAULT_MAX_VALUE);
-        mMinValue = ta.getInt(R.styleable.ArcSeekBar_arc_min, DEFAULT_MIN_VALUE);
-        // 如果用户设置的最大值和最小值不合理，则直接按照默认进行处理
-        if (mMaxValue <= mMinValue) {
-            mMaxValue = DEFAULT_MAX_VALUE;
-            mMinValue = DEFAULT_MIN_VALUE;
-        }
-        int progress = ta.getInt(R.styleable.ArcSeekBar_arc_progress, mMinValue);
-        setProgress(progress);
-        mBorderWidth = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_border_width, dp2px(DEFAULT_BORDER_WIDTH));
-        mBorderColor = ta.getColor(R.styleable.ArcSeekBar_arc_border_color, DEFAULT_BORDER_COLOR);
-
-        mThumbColor = ta.getColor(R.styleable.ArcSeekBar_arc_thumb_color, DEFAULT_THUMB_COLOR);
-        mThumbRadius = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_radius, dp2px(DEFAULT_THUMB_RADIUS));
-        mThumbShadowRadius = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_shadow_radius, dp2px(DEFAULT_THUMB_SHADOW_RADIUS));
-        mThumbShadowColor = ta.getColor(R.styleable.ArcSeekBar_arc_thumb_shadow_color, DEFAULT_THUMB_SHADOW_COLOR);
-        mThumbWidth = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_width, dp2px(DEFAULT_THUMB_WIDTH));
-        mThumbMode = ta.getInt(R.styleable.ArcSeekBar_arc_thumb_mode, THUMB_MODE_STROKE);
-
-        mShadowRadius = ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_shadow_radius, dp2px(DEFAULT_SHADOW_RADIUS));
-        ta.recycle();
-    }
-
-    // 获取 Arc 颜色数组
-    private int[] getArcColors(Context context, TypedArray ta) {
-        int[] ret;
-        int resId = ta.getResourceId(R.styleable.ArcSeekBar_arc_colors, 0);
-        if (0 == resId) {
-            resId = R.array.arc_colors_default;
-        }
-        ret = getColorsByArrayResId(context, resId);
-        return ret;
-    }
-
-    // 根据 resId 获取颜色数组
-    private int[] getColorsByArrayResId(Context context, int resId) {
-        int[] ret;
-        TypedArray colorArray = context.getResources().obtainTypedArray(resId);
-        ret = new int[colorArray.length()];
-        for (int i = 0; i < colorArray.length(); i++) {
-            ret[i] = colorArray.getColor(i, 0);
-        }
-        return ret;
+        // 相同主题下属性相同的 View 共享同一份解析结果
+        ArcAttributes attributes = ArcAttributes.obtain(context, attrs);
+        mStyle = attributes.style;
+        mStyle.applyTo(mGeometry);
+        mGeometry.setRange(attributes.minValue, attributes.maxValue);
+        mRequestedMin = attributes.minValue;
+        mRequestedMax = attributes.maxValue;
+        // 构造可能发生在非 UI 线程(异步加载布局), 不能通过 setProgress 设置初始进度
+        mValue = mGeometry.alignValue(attributes.progress);
+        mProgressPresent = mGeometry.valueToPresent(mValue);
+
+        mRenderMode = attributes.renderMode;
+        mTouchSlop = attributes.touchSlop;
+        mDispatchMode = attributes.dispatchMode;
+        mInteractive = attributes.interactive;
+        if (attributes.touchPrediction) {
+            mPredictor = new ArcMotionPredictor();
+        }
+        mAsyncLayout = attributes.asyncLayout;
+        if (attributes.valueTextSize > 0) {
+            mValueLabel = new ArcValueLabel(attributes.valueTextSize, attributes.valueTextColor,
+                    attributes.valuePrefix, attributes.valueSuffix, attributes.valueDecimals, attributes.valueGrouping);
+        }
     }
 
     // 初始化数据
     private void initData() {
-        mSeekPath = new Path();
-        mBorderPath = new Path();
-        mSeekPathMeasure = new PathMeasure();
-        mTempPos = new float[2];
-        mTempTan = new float[2];
-
-        mDetector = new GestureDetector(getContext(), new OnClickListener());
-        mInvertMatrix = new Matrix();
-        mArcRegion = new Region();
-    }
-
-    // 初始化画笔
-    private void initPaint() {
-        initArcPaint();
-        initThumbPaint();
-        initBorderPaint();
-        initShadowPaint();
-    }
-
-    // 初始化圆弧画笔
-    private void initArcPaint() {
-        mArcPaint = new Paint();
-        mArcPaint.setAntiAlias(true);
-        mArcPaint.setStrokeWidth(mArcWidth);
-        mArcPaint.setStyle(Paint.Style.STROKE);
-        mArcPaint.setStrokeCap(Paint.Cap.ROUND);
-    }
-
-    // 初始化拖动按钮画笔
-    private void initThumbPaint() {
-        mThumbPaint = new Paint();
-        mThumbPaint.setAntiAlias(true);
-        mThumbPaint.setColor(mThumbColor);
-        mThumbPaint.setStrokeWidth(mThumbWidth);
-        mThumbPaint.setStrokeCap(Paint.Cap.ROUND);
-        if (mThumbMode == THUMB_MODE_FILL) {
-            mThumbPaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        } else if (mThumbMode == THUMB_MODE_FILL_STROKE) {
-            mThumbPaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        } else {
-            mThumbPaint.setStyle(Paint.Style.STROKE);
+        mDirtyRect = new RectF();
+        mBatchDirtyRect = new RectF();
+        if (mInteractive) {
+            initTouchData();
         }
-        mThumbPaint.setTextSize(56);
     }
 
-    // 初始化拖动按钮画笔
-    private void initBorderPaint() {
-        mBorderPaint = new Paint();
-        mBorderPaint.setAntiAlias(true);
-        mBorderPaint.setColor(mBorderColor);
-        mBorderPaint.setStrokeWidth(mBorderWidth);
-        mBorderPaint.setStyle(Paint.Style.STROKE);
+    // 初始化触摸相关数据, 只在允许交互时创建一次
+    private void initTouchData() {
+        if (null != mDispatchRunnable) {
+            return;
+        }
+        int tapSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
+        mTapSlopSquare = tapSlop * tapSlop;
+        mDispatchRunnable = new Runnable() {
+            @Override
+            public void run() {
+                mDispatchScheduled = false;
+                notifyDragProgress();
+            }
+        };
     }
 
-    // 初始化阴影画笔
-    private void initShadowPaint() {
-        mShadowPaint = new Paint();
-        mShadowPaint.setAntiAlias(true);
-        mShadowPaint.setStrokeWidth(mBorderWidth);
-        mShadowPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+    // 应用渲染模式
+    private void applyRenderMode() {
+        if (mRenderMode == RENDER_MODE_SOFTWARE) {
+            setLayerType(LAYER_TYPE_SOFTWARE, null);
+        } else {
+            setLayerType(LAYER_TYPE_NONE, null);
+        }
     }
 
     //--- 初始化结束 -------------------------------------------------------------------------------
@@ -263,6 +217,7 @@ public class ArcSeekBar extends View {
         Bundle bundle = new Bundle();
         bundle.putParcelable("superState", super.onSaveInstanceState());
         bundle.putFloat(KEY_PROGRESS_PRESENT, mProgressPresent);
+        bundle.putDouble(KEY_VALUE, mValue);
         return bundle;
     }
 
@@ -271,10 +226,11 @@ public class ArcSeekBar extends View {
         if (state instanceof Bundle) {
             Bundle bundle = (Bundle) state;
             this.mProgressPresent = bundle.getFloat(KEY_PROGRESS_PRESENT);
+            this.mValue = mGeometry.alignValue(bundle.getDouble(KEY_VALUE, mGeometry.presentToExactValue(mProgressPresent)));
             state = bundle.getParcelable("superState");
         }
         if (null != mOnProgressChangeListener) {
-            mOnProgressChangeListener.onProgressChanged(this, getProgress(), false);
+            dispatchProgressChanged(getProgress(), false);
         }
         super.onRestoreInstanceState(state);
     }
@@ -308,191 +264,449 @@ public class ArcSeekBar extends View {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        // 计算在当前大小下,内容应该显示的大小和起始位置
-        int safeW = w - getPaddingLeft() - getPaddingRight();
-        int safeH = h - getPaddingTop() - getPaddingBottom();
-        float edgeLength, startX, startY;
-        float fix = mArcWidth / 2 + mBorderWidth + mShadowRadius * 2;  // 修正距离,画笔宽度的修正
-        if (safeW < safeH) {
-            // 宽度小于高度,以宽度为准
-            edgeLength = safeW - fix;
-            startX = getPaddingLeft();
-            startY = (safeH - safeW) / 2.0f + getPaddingTop();
-        } else {
-            // 宽度大于高度,以高度为准
-            edgeLength = safeH - fix;
-            startX = (safeW - safeH) / 2.0f + getPaddingLeft();
-            startY = getPaddingTop();
+        ArcSeekBarMetrics metrics = mMetrics;
+        long start = null != metrics ? metrics.beginSection(ArcSeekBarMetrics.SECTION_LAYOUT) : 0;
+        layoutArc(w, h);
+        if (null != metrics) {
+            metrics.endSection(ArcSeekBarMetrics.SECTION_LAYOUT, start);
         }
+    }
 
-        // 得到显示区域和中心的
-        RectF content = new RectF(startX + fix, startY + fix, startX + edgeLength, startY + edgeLength);
-        mCenterX = content.centerX();
-        mCenterY = content.centerY();
-
-        // 得到路径
-        mSeekPath.reset();
-        mSeekPath.addArc(content, mOpenAngle / 2, CIRCLE_ANGLE - mOpenAngle);
-        mSeekPathMeasure.setPath(mSeekPath, false);
+    // 计算在当前大小下,内容应该显示的大小和起始位置, 并获取共享的绘制资源
+    private void layoutArc(int w, int h) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        int paddingLeft = getPaddingLeft();
+        int paddingTop = getPaddingTop();
+        int paddingRight = getPaddingRight();
+        int paddingBottom = getPaddingBottom();
+        mGeometry.layout(w, h, paddingLeft, paddingTop, paddingRight, paddingBottom, mStyle.getLayoutInset());
+        int generation = ++mLayoutGeneration;
+        ArcLayers layers = ArcLayers.peek(mStyle, w, h, paddingLeft, paddingTop, paddingRight, paddingBottom);
+        if (null == layers && null != mMetrics) {
+            // 只统计缓存未命中, 命中时只是重新计算解析式布局
+            mMetrics.onGeometryRebuild();
+        }
+        if (null == layers && mAsyncLayout) {
+            // 尚未缓存, 在后台线程生成路径、阴影遮罩和静态图层, 完成前绘制占位圆弧, 点击区域由解析式计算, 不受影响
+            mLayers = null;
+            mLayersPending = true;
+            ArcLayers.obtainAsync(mStyle, w, h, paddingLeft, paddingTop, paddingRight, paddingBottom,
+                    mGeometry.getMinValue(), mGeometry.getMaxValue(), mGeometry.getStep(), mGeometry.getMapping(),
+                    new LayersReceiver(generation, mStyle, mGeometry));
+        } else {
+            mLayers = null != layers ? layers : ArcLayers.obtain(mStyle, w, h, paddingLeft, paddingTop, paddingRight, paddingBottom);
+            mLayersPending = false;
+        }
+        mStaticLayer = null;
         computeThumbPos(mProgressPresent);
+    }
 
-        resetShaderColor();
+    // 具体绘制
+    @Override
+    protected void onDraw(Canvas canvas) {
+        ArcLayers layers = mLayers;
+        if (null == layers) {
+            if (mLayersPending) {
+                drawPlaceholder(canvas);
+            }
+            return;
+        }
+        ArcSeekBarMetrics metrics = mMetrics;
+        long start = null != metrics ? metrics.beginSection(ArcSeekBarMetrics.SECTION_DRAW) : 0;
+        if (null == mStaticLayer) {
+            mStaticLayer = layers.getStaticLayer(mStyle, mGeometry.getMinValue(), mGeometry.getMaxValue(),
+                    mGeometry.getStep(), mGeometry.getMapping());
+        }
+        mPainter.draw(canvas, mStyle, mGeometry, layers, mStaticLayer, mThumbX, mThumbY, getColor());
+        if (null != mValueLabel) {
+            // 中心点不受旋转影响, 文字直接绘制在 View 坐标系中
+            mValueLabel.draw(canvas, mValue, getColor(), mGeometry.getCenterX(), mGeometry.getCenterY());
+        }
+        if (null != metrics) {
+            metrics.endSection(ArcSeekBarMetrics.SECTION_DRAW, start);
+        }
+    }
 
-        mInvertMatrix.reset();
-        mInvertMatrix.preRotate(-mRotateAngle, mCenterX, mCenterY);
+    // 后台生成期间只绘制一条纯色圆弧, 不需要任何缓存资源
+    private void drawPlaceholder(Canvas canvas) {
+        if (null == mPlaceholderPaint) {
+            mPlaceholderPaint = new Paint();
+            mPlaceholderPaint.setAntiAlias(true);
+            mPlaceholderPaint.setStyle(Paint.Style.STROKE);
+            mPlaceholderPaint.setStrokeCap(Paint.Cap.ROUND);
+            mPlaceholderRect = new RectF();
+        }
+        mPlaceholderPaint.setStrokeWidth(mGeometry.getArcWidth());
+        mPlaceholderPaint.setColor(getColor());
+        float centerX = mGeometry.getCenterX();
+        float centerY = mGeometry.getCenterY();
+        float radius = mGeometry.getRadius();
+        mPlaceholderRect.set(centerX - radius, centerY - radius, centerX + radius, centerY + radius);
+        canvas.save();
+        canvas.rotate(mGeometry.getRotateAngle(), centerX, centerY);
+        canvas.drawArc(mPlaceholderRect, mGeometry.getStartAngle(), mGeometry.getSweepAngle(), false, mPlaceholderPaint);
+        canvas.restore();
+    }
 
-        mArcPaint.getFillPath(mSeekPath, mBorderPath);
-        mBorderPath.close();
-        mArcRegion.setPath(mBorderPath, new Region(0, 0, w, h));
+    // 是否正在后台生成绘制资源, 只用于测试
+    boolean isLayersPending() {
+        return mLayersPending;
     }
 
-    // 重置 shader 颜色
-    private void resetShaderColor() {
-        // 计算渐变数组
-        float startPos = (mOpenAngle / 2) / CIRCLE_ANGLE;
-        float stopPos = (CIRCLE_ANGLE - (mOpenAngle / 2)) / CIRCLE_ANGLE;
-        int len = mArcColors.length - 1;
-        float distance = (stopPos - startPos) / len;
-        float pos[] = new float[mArcColors.length];
-        for (int i = 0; i < mArcColors.length; i++) {
-            pos[i] = startPos + (distance * i);
+    // 接收后台生成的绘制资源, 通过主线程 Handler 切换回 UI 线程后一次性替换, 期间又重新布局时丢弃结果, 生成失败时改为在 UI 线程同步生成
+    // 生成完成时 View 可能已经离开窗口, View.post 在旧版本上会把任务留在后台线程的队列中, 重新添加到窗口后也不会执行
+    private final class LayersReceiver implements ArcLayers.Callback {
+        private final int mGeneration;
+        private final ArcSeekBarStyle mRequestStyle;
+        private final double mRequestMin;
+        private final double mRequestMax;
+        private final double mRequestStep;
+        private final ArcValueMapping mRequestMapping;
+
+        LayersReceiver(int generation, ArcSeekBarStyle style, ArcGeometry geometry) {
+            mGeneration = generation;
+            mRequestStyle = style;
+            mRequestMin = geometry.getMinValue();
+            mRequestMax = geometry.getMaxValue();
+            mRequestStep = geometry.getStep();
+            mRequestMapping = geometry.getMapping();
+        }
+
+        @Override
+        public void onLayersReady(final ArcLayers layers, final Bitmap staticLayer) {
+            postToMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    if (mGeneration != mLayoutGeneration) return;
+                    mLayers = layers;
+                    mLayersPending = false;
+                    // 生成期间颜色、数值范围或数值曲线发生变化时, 静态图层在绘制时重新获取
+                    boolean unchanged = mRequestStyle == mStyle
+                            && mRequestMin == mGeometry.getMinValue() && mRequestMax == mGeometry.getMaxValue()
+                            && mRequestStep == mGeometry.getStep() && mRequestMapping == mGeometry.getMapping();
+                    mStaticLayer = unchanged ? staticLayer : null;
+                    invalidate();
+                }
+            });
+        }
+
+        @Override
+        public void onLayersFailed(Throwable error) {
+            postToMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    if (mGeneration != mLayoutGeneration) return;
+                    // 不再绘制占位圆弧, 按当前的样式和尺寸同步生成, 与关闭后台生成时的行为一致
+                    mLayersPending = false;
+                    mLayers = ArcLayers.obtain(mStyle, getWidth(), getHeight(),
+                            getPaddingLeft(), getPaddingTop(), getPaddingRight(), getPaddingBottom());
+                    mStaticLayer = null;
+                    invalidate();
+                }
+            });
         }
-        SweepGradient gradient = new SweepGradient(mCenterX, mCenterY, mArcColors, pos);
-        mArcPaint.setShader(gradient);
     }
 
-    // 具体绘制
     @Override
-    protected void onDraw(Canvas canvas) {
-        canvas.save();
-        canvas.rotate(mRotateAngle, mCenterX, mCenterY);
-        mShadowPaint.setShadowLayer(mShadowRadius * 2, 0, 0, getColor());
-        canvas.drawPath(mBorderPath, mShadowPaint);
-        canvas.drawPath(mSeekPath, mArcPaint);
-        if (mBorderWidth > 0) {
-            canvas.drawPath(mBorderPath, mBorderPaint);
-        }
-        if (mThumbShadowRadius > 0) {
-            mThumbPaint.setShadowLayer(mThumbShadowRadius, 0, 0, mThumbShadowColor);
-            canvas.drawCircle(mThumbX, mThumbY, mThumbRadius, mThumbPaint);
-            mThumbPaint.clearShadowLayer();
-        }
-        canvas.drawCircle(mThumbX, mThumbY, mThumbRadius, mThumbPaint);
-        canvas.restore();
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // 离开窗口后不再等待下一帧, 直接发送尚未发送的回调, 动画直接跳到目标位置
+        flushDragProgress();
+        if (mAnimating) {
+            cancelAnimation();
+            finishAnimation();
+        }
+        // 绘制资源由所有相同配置的 View 共享, 离开窗口时不回收, 由缓存统一淘汰
     }
 
+
+
     private boolean moved = false;
-    private int lastProgress = -1;
+    private double lastValue = Double.NaN;
+    private boolean mDispatchScheduled = false;     // 是否已经安排了下一帧的进度回调
+
+    private boolean mAnimating = false;             // 是否正在执行进度动画
+    private float mAnimStartPresent;                // 动画开始时的进度百分比
+    private float mAnimTargetPresent;               // 动画目标进度百分比
+    private double mAnimTargetValue;                // 动画目标数值, 结束时直接使用, 不经过进度百分比转换
+    private long mAnimStartTime;                    // 动画开始时间
+    private long mAnimDuration = DEFAULT_ANIMATION_DURATION;  // 默认动画时长
+    private long mAnimRunDuration;                  // 当前动画时长
+    private Interpolator mAnimInterpolator = new DecelerateInterpolator();
+    private double mAnimLastValue;                  // 动画过程中上次回调的数值
+
+    // 进度动画的帧回调
+    private final Runnable mAnimationRunnable = new Runnable() {
+        @Override
+        public void run() {
+            stepAnimation();
+        }
+    };
+
+    // 按帧合并的进度回调, 允许交互时才创建
+    private Runnable mDispatchRunnable;
 
     @SuppressLint("ClickableViewAccessibility")
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        if (!mInteractive) {
+            // 只读模式下不处理也不消费触摸事件, 交给父控件
+            return super.onTouchEvent(event);
+        }
+        ArcSeekBarMetrics metrics = mMetrics;
+        if (null == metrics) {
+            return handleTouchEvent(event);
+        }
+        long start = metrics.beginSection(ArcSeekBarMetrics.SECTION_TOUCH);
+        boolean handled = handleTouchEvent(event);
+        metrics.endSection(ArcSeekBarMetrics.SECTION_TOUCH, start);
+        return handled;
+    }
+
+    // 处理触摸事件
+    private boolean handleTouchEvent(MotionEvent event) {
         super.onTouchEvent(event);
         int action = event.getActionMasked();
         switch (action) {
             case ACTION_DOWN:
+                cancelAnimation();
                 moved = false;
+                mDownX = event.getX();
+                mDownY = event.getY();
+                mInTapRegion = true;
+                if (null != mPredictor) {
+                    mPredictor.reset();
+                }
                 judgeCanDrag(event);
                 if (null != mOnProgressChangeListener) {
                     mOnProgressChangeListener.onStartTrackingTouch(this);
                 }
                 break;
             case ACTION_MOVE:
+                if (mInTapRegion) {
+                    float dx = event.getX() - mDownX;
+                    float dy = event.getY() - mDownY;
+                    mInTapRegion = dx * dx + dy * dy <= mTapSlopSquare;
+                }
                 if (!mCanDrag) {
                     break;
                 }
-                float tempProgressPresent = getCurrentProgress(event.getX(), event.getY());
-                if (!mAllowTouchSkip) {
-                    // 不允许突变
-                    if (Math.abs(tempProgressPresent - mProgressPresent) > 0.5f) {
-                        break;
+                // 依次处理批量的历史采样点, 最后处理当前位置, 整个事件只请求一次刷新
+                boolean accepted = false;
+                int historySize = event.getHistorySize();
+                beginBatchInvalidate();
+                for (int i = 0; i < historySize; i++) {
+                    accepted |= dragTo(event.getHistoricalX(i), event.getHistoricalY(i), event.getHistoricalEventTime(i));
+                }
+                accepted |= dragTo(event.getX(), event.getY(), event.getEventTime());
+                if (accepted && null != mPredictor) {
+                    // 拖动按钮绘制在预测位置, 进度和回调仍然使用真实采样, 预测结果同样需要通过防突变判断
+                    float predicted = mPredictor.predict(event.getEventTime() + PREDICTION_TIME);
+                    if (mAllowTouchSkip || Math.abs(predicted - mProgressPresent) <= 0.5f) {
+                        moveThumb(predicted, false, false);
                     }
                 }
-                // 允许突变 或者非突变
-                mProgressPresent = tempProgressPresent;
-                computeThumbPos(mProgressPresent);
-                // 事件回调
-                if (null != mOnProgressChangeListener && getProgress() != lastProgress) {
-                    mOnProgressChangeListener.onProgressChanged(this, getProgress(), true);
-                    lastProgress = getProgress();
+                endBatchInvalidate();
+                if (!accepted) {
+                    break;
+                }
+                if (null != mMetrics) {
+                    mMetrics.onInput(historySize > 0 ? event.getHistoricalEventTime(0) : event.getEventTime());
                 }
+                // 事件回调
+                dispatchDragProgress();
                 moved = true;
                 break;
             case ACTION_UP:
+                endPrediction();
+                flushDragProgress();
+                if (null != mOnProgressChangeListener && moved) {
+                    mOnProgressChangeListener.onStopTrackingTouch(this);
+                }
+                // 没有移动出单击范围, 并且没有达到长按时间, 视为单击
+                if (mInTapRegion && event.getEventTime() - event.getDownTime() < ViewConfiguration.getLongPressTimeout()) {
+                    if (onSingleTapUp(event.getX(), event.getY()) && null != mMetrics) {
+                        mMetrics.onInput(event.getEventTime());
+                    }
+                }
+                mInTapRegion = false;
+                break;
             case ACTION_CANCEL:
+                endPrediction();
+                flushDragProgress();
                 if (null != mOnProgressChangeListener && moved) {
                     mOnProgressChangeListener.onStopTrackingTouch(this);
                 }
+                mInTapRegion = false;
                 break;
         }
-        mDetector.onTouchEvent(event);
-        invalidate();
         return true;
     }
 
+    /**
+     * 拖动到指定位置
+     *
+     * @return 是否接受了该位置(防突变判断未通过时不接受)
+     */
+    private boolean dragTo(float px, float py, long time) {
+        float tempProgressPresent = getCurrentProgress(px, py);
+        if (!mAllowTouchSkip) {
+            // 不允许突变
+            if (Math.abs(tempProgressPresent - mProgressPresent) > 0.5f) {
+                return false;
+            }
+        }
+        // 允许突变 或者非突变
+        updateProgressPresent(tempProgressPresent, false);
+        if (null != mPredictor) {
+            mPredictor.addSample(time, tempProgressPresent);
+        }
+        return true;
+    }
+
+    // 结束拖动位置预测, 拖动按钮回到真实进度的位置
+    private void endPrediction() {
+        if (null != mPredictor) {
+            mPredictor.reset();
+            moveThumb(mProgressPresent, false, false);
+        }
+    }
+
+    // 拖动时的进度回调, 按帧回调时合并到下一帧发送
+    private void dispatchDragProgress() {
+        if (mDispatchMode != DISPATCH_MODE_FRAME) {
+            notifyDragProgress();
+        } else if (!mDispatchScheduled) {
+            mDispatchScheduled = true;
+            postOnFrame(mDispatchRunnable);
+        }
+    }
+
+    // 立即发送尚未发送的进度回调
+    private void flushDragProgress() {
+        if (mDispatchScheduled) {
+            removeCallbacks(mDispatchRunnable);
+            mDispatchScheduled = false;
+            notifyDragProgress();
+        }
+    }
+
+    // 进度确实发生变化时才回调
+    private void notifyDragProgress() {
+        if (null != mOnProgressChangeListener && getExactValue() != lastValue) {
+            lastValue = getExactValue();
+            dispatchProgressChanged(getProgress(), true);
+        }
+    }
+
+    //--- 进度动画 ---------------------------------------------------------------------------------
+
+    // 开始(或转向)进度动画
+    private void startAnimation(double targetValue, long duration) {
+        if (!mAnimating) {
+            mAnimLastValue = getExactValue();
+        }
+        mAnimStartPresent = mProgressPresent;
+        mAnimTargetValue = targetValue;
+        mAnimTargetPresent = mGeometry.valueToPresent(targetValue);
+        mAnimStartTime = AnimationUtils.currentAnimationTimeMillis();
+        mAnimRunDuration = duration;
+        if (!mAnimating) {
+            mAnimating = true;
+            postOnFrame(mAnimationRunnable);
+        }
+    }
+
+    // 执行一帧动画
+    private void stepAnimation() {
+        if (!mAnimating) return;
+        long elapsed = AnimationUtils.currentAnimationTimeMillis() - mAnimStartTime;
+        float fraction = mAnimRunDuration <= 0 ? 1 : Math.min(1f, elapsed * 1.0f / mAnimRunDuration);
+        if (fraction >= 1) {
+            mAnimating = false;
+            finishAnimation();
+            return;
+        }
+        float present = mAnimStartPresent
+                + (mAnimTargetPresent - mAnimStartPresent) * mAnimInterpolator.getInterpolation(fraction);
+        updateProgressPresent(present, false);
+        dispatchAnimationProgress();
+        postOnFrame(mAnimationRunnable);
+    }
+
+    // 动画结束, 直接设置目标数值, 与不使用动画时的结果一致
+    private void finishAnimation() {
+        updateValue(mAnimTargetValue, false);
+        dispatchAnimationProgress();
+    }
+
+    // 动画过程中数值变化时回调
+    private void dispatchAnimationProgress() {
+        if (null != mOnProgressChangeListener && getExactValue() != mAnimLastValue) {
+            mAnimLastValue = getExactValue();
+            dispatchProgressChanged(getProgress(), false);
+        }
+    }
+
+    // 停止进度动画, 进度停留在当前位置
+    private void cancelAnimation() {
+        if (mAnimating) {
+            mAnimating = false;
+            removeCallbacks(mAnimationRunnable);
+        }
+    }
+
+    // 在下一帧执行, 与 Choreographer 的帧同步
+    private void postOnFrame(Runnable runnable) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postOnAnimation(runnable);
+        } else {
+            postDelayed(runnable, FALLBACK_FRAME_DELAY);
+        }
+    }
+
+    // 发送进度回调, 调用前需要判断监听器是否为空
+    private void dispatchProgressChanged(int progress, boolean isUser) {
+        if (null != mMetrics) {
+            mMetrics.onCallback();
+        }
+        mOnProgressChangeListener.onProgressChanged(this, progress, isUser);
+    }
+
     // 判断是否允许拖动
     private void judgeCanDrag(MotionEvent event) {
-        float[] pos = {event.getX(), event.getY()};
-        mInvertMatrix.mapPoints(pos);
-        if (getDistance(pos[0], pos[1]) <= mThumbRadius * 1.5) {
+        mGeometry.viewToDraw(event.getX(), event.getY(), mTempPos);
+        if (getDistance(mTempPos[0], mTempPos[1]) <= mStyle.getThumbRadius() * 1.5) {
             mCanDrag = true;
         } else {
             mCanDrag = false;
         }
     }
 
-    private class OnClickListener extends GestureDetector.SimpleOnGestureListener {
-        @Override
-        public boolean onSingleTapUp(MotionEvent e) {
-            // 判断是否点击在了进度区域
-            if (!isInArcProgress(e.getX(), e.getY())) return false;
-            // 点击允许突变
-            mProgressPresent = getCurrentProgress(e.getX(), e.getY());
-            computeThumbPos(mProgressPresent);
-            // 事件回调
-            if (null != mOnProgressChangeListener) {
-                mOnProgressChangeListener.onProgressChanged(ArcSeekBar.this, getProgress(), true);
-                mOnProgressChangeListener.onStopTrackingTouch(ArcSeekBar.this);
-            }
-            return true;
+    // 单击
+    private boolean onSingleTapUp(float px, float py) {
+        // 判断是否点击在了进度区域
+        if (!isInArcProgress(px, py)) return false;
+        // 点击允许突变
+        updateProgressPresent(getCurrentProgress(px, py), false);
+        // 事件回调
+        if (null != mOnProgressChangeListener) {
+            dispatchProgressChanged(getProgress(), true);
+            mOnProgressChangeListener.onStopTrackingTouch(this);
         }
+        return true;
     }
 
     // 判断该点是否在进度条上面
     private boolean isInArcProgress(float px, float py) {
-        float[] pos = {px, py};
-        mInvertMatrix.mapPoints(pos);
-        return mArcRegion.contains((int) pos[0], (int) pos[1]);
+        return mGeometry.isInArc(px, py, mTouchSlop);
     }
 
     // 获取当前进度理论进度数值
     private float getCurrentProgress(float px, float py) {
-        float diffAngle = getDiffAngle(px, py);
-        float progress = diffAngle / (CIRCLE_ANGLE - mOpenAngle);
-        if (progress < 0) progress = 0;
-        if (progress > 1) progress = 1;
-        return progress;
-    }
-
-    // 获得当前点击位置所成角度与开始角度之间的数值差
-    private float getDiffAngle(float px, float py) {
-        float angle = getAngle(px, py);
-        float diffAngle;
-        diffAngle = angle - mRotateAngle;
-        if (diffAngle < 0) {
-            diffAngle = (diffAngle + CIRCLE_ANGLE) % CIRCLE_ANGLE;
-        }
-        diffAngle = diffAngle - mOpenAngle / 2;
-        return diffAngle;
-    }
-
-    // 计算指定位置与内容区域中心点的夹角
-    private float getAngle(float px, float py) {
-        float angle = (float) ((Math.atan2(py - mCenterY, px - mCenterX)) * 180 / 3.14f);
-        if (angle < 0) {
-            angle += 360;
-        }
-        return angle;
+        return mGeometry.getProgress(px, py);
     }
 
     // 计算指定位置与上次位置的距离
@@ -506,106 +720,237 @@ public class ArcSeekBar extends View {
 
     // 计算拖动块应该显示的位置
     private void computeThumbPos(float present) {
-        if (present < 0) present = 0;
-        if (present > 1) present = 1;
-        if (null == mSeekPathMeasure) return;
-        float distance = mSeekPathMeasure.getLength() * present;
-        mSeekPathMeasure.getPosTan(distance, mTempPos, mTempTan);
+        mGeometry.computePos(present, mTempPos);
         mThumbX = mTempPos[0];
         mThumbY = mTempPos[1];
     }
 
-    //--- 线性取色 ---------------------------------------------------------------------------------
-
     /**
-     * 获取当前进度的具体颜色
+     * 更新当前进度百分比, 并只刷新发生变化的区域
      *
-     * @return 当前进度在渐变中的颜色
+     * @param present 新的进度百分比
+     * @param post    是否可能在非 UI 线程调用
+     * @return 进度是否发生了变化
      */
-    public int getColor() {
-        return getColor(mProgressPresent);
+    private boolean updateProgressPresent(float present, boolean post) {
+        if (present == mProgressPresent) {
+            // 性能指标只能在 UI 线程访问
+            if (!post && null != mMetrics) {
+                mMetrics.onSkippedRedraw();
+            }
+            return false;
+        }
+        int oldColor = getColor();
+        double oldValue = mValue;
+        mProgressPresent = present;
+        mValue = mGeometry.presentToExactValue(present);
+        boolean colorChanged = oldColor != getColor();
+        moveThumb(present, colorChanged, post);
+        if (null != mValueLabel && (oldValue != mValue || (colorChanged && mValueLabel.isTrackingColor()))) {
+            invalidateValueLabel(post);
+        }
+        return true;
     }
 
     /**
-     * 获取某个百分比位置的颜色
+     * 按数值更新进度, 数值直接保存, 进度百分比只用于绘制
      *
-     * @param radio 取值[0,1]
-     * @return 最终颜色
-     */
-    private int getColor(float radio) {
-        float diatance = 1.0f / (mArcColors.length - 1);
-        int startColor;
-        int endColor;
-        if (radio >= 1) {
-            return mArcColors[mArcColors.length - 1];
-        }
-        for (int i = 0; i < mArcColors.length; i++) {
-            if (radio <= i * diatance) {
-                if (i == 0) {
-                    return mArcColors[0];
-                }
-                startColor = mArcColors[i - 1];
-                endColor = mArcColors[i];
-                float areaRadio = getAreaRadio(radio, diatance * (i - 1), diatance * i);
-                return getColorFrom(startColor, endColor, areaRadio);
+     * @param value 已经限制在范围内并对齐到步长的数值
+     * @param post  是否可能在非 UI 线程调用
+     * @return 数值是否发生了变化
+     */
+    private boolean updateValue(double value, boolean post) {
+        boolean changed = updateProgressPresent(mGeometry.valueToPresent(value), post);
+        if (value != mValue) {
+            // 范围很大时相邻的数值可能对应同一个进度百分比, 此时只有数值文字需要刷新
+            if (!changed && null != mValueLabel) {
+                invalidateValueLabel(post);
             }
+            mValue = value;
+            changed = true;
         }
-        return -1;
+        return changed;
+    }
+
+    // 刷新中心数值文字所在的区域, 按数值范围内最宽的文字计算, 不需要重新测量
+    private void invalidateValueLabel(boolean post) {
+        if (null == mDirtyRect) return;
+        float halfWidth = mValueLabel.getMaxWidth(mGeometry.getMinValue(), mGeometry.getMaxValue()) / 2 + 1;
+        float halfHeight = mValueLabel.getHalfHeight() + 1;
+        float centerX = mGeometry.getCenterX();
+        float centerY = mGeometry.getCenterY();
+        invalidateArea(centerX - halfWidth, centerY - halfHeight, centerX + halfWidth, centerY + halfHeight, post);
     }
 
     /**
-     * 计算当前比例在子区间的比例
+     * 移动拖动按钮到指定进度的位置, 并只刷新发生变化的区域
      *
-     * @param radio         总比例
-     * @param startPosition 子区间开始位置
-     * @param endPosition   子区间结束位置
-     * @return 自区间比例[0, 1]
+     * @param present     拖动按钮所在的进度百分比, 拖动预测时可能与当前进度不同
+     * @param haloChanged 阴影颜色是否发生了变化
+     * @param post        是否可能在非 UI 线程调用
      */
-    private float getAreaRadio(float radio, float startPosition, float endPosition) {
-        return (radio - startPosition) / (endPosition - startPosition);
+    private void moveThumb(float present, boolean haloChanged, boolean post) {
+        float oldThumbX = mThumbX;
+        float oldThumbY = mThumbY;
+        computeThumbPos(present);
+        if (null == mDirtyRect || (oldThumbX == mThumbX && oldThumbY == mThumbY && !haloChanged)) {
+            // 尚未初始化完成(构造过程中)或没有变化, 此时没有需要刷新的内容
+            return;
+        }
+        // 绘制坐标系经过了旋转, 需要转换回 View 坐标系, 拖动按钮是圆形, 旋转后只需要转换中心点
+        float extent = mStyle.getThumbSpriteOffset() + 1;
+        mGeometry.drawToView(oldThumbX, oldThumbY, mTempPos);
+        mDirtyRect.set(mTempPos[0] - extent, mTempPos[1] - extent, mTempPos[0] + extent, mTempPos[1] + extent);
+        mGeometry.drawToView(mThumbX, mThumbY, mTempPos);
+        mDirtyRect.union(mTempPos[0] - extent, mTempPos[1] - extent, mTempPos[0] + extent, mTempPos[1] + extent);
+        Bitmap haloMask = null != mLayers ? mLayers.getHaloMask() : null;
+        if (null != haloMask && haloChanged) {
+            float haloLeft = mLayers.getHaloMaskLeft();
+            float haloTop = mLayers.getHaloMaskTop();
+            float haloRight = haloLeft + haloMask.getWidth();
+            float haloBottom = haloTop + haloMask.getHeight();
+            // 阴影遮罩是矩形, 需要合并旋转后的四个顶点
+            unionDrawPoint(haloLeft, haloTop);
+            unionDrawPoint(haloRight, haloTop);
+            unionDrawPoint(haloLeft, haloBottom);
+            unionDrawPoint(haloRight, haloBottom);
+        }
+        invalidateArea(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom, post);
+    }
+
+    // 请求刷新 View 坐标系中的区域, 处理一个触摸事件的批量采样期间只合并区域, 处理完成后统一刷新一次
+    private void invalidateArea(float left, float top, float right, float bottom, boolean post) {
+        if (post) {
+            postInvalidate((int) Math.floor(left), (int) Math.floor(top), (int) Math.ceil(right), (int) Math.ceil(bottom));
+        } else if (mBatchingInvalidate) {
+            mBatchDirtyRect.union(left, top, right, bottom);
+        } else {
+            invalidate((int) Math.floor(left), (int) Math.floor(top), (int) Math.ceil(right), (int) Math.ceil(bottom));
+            // 性能指标只能在 UI 线程访问, 非 UI 线程的刷新请求不计数
+            if (null != mMetrics) {
+                mMetrics.onInvalidate();
+            }
+        }
+    }
+
+    // 开始合并刷新区域
+    private void beginBatchInvalidate() {
+        mBatchDirtyRect.setEmpty();
+        mBatchingInvalidate = true;
     }
 
+    // 结束合并, 一次刷新所有变化的区域(框架在下一帧之前同样会合并所有刷新区域)
+    private void endBatchInvalidate() {
+        mBatchingInvalidate = false;
+        if (!mBatchDirtyRect.isEmpty()) {
+            invalidateArea(mBatchDirtyRect.left, mBatchDirtyRect.top, mBatchDirtyRect.right, mBatchDirtyRect.bottom, false);
+        }
+    }
+
+    // 将绘制坐标系中的点转换到 View 坐标系后合并到刷新区域
+    private void unionDrawPoint(float x, float y) {
+        mGeometry.drawToView(x, y, mTempPos);
+        mDirtyRect.union(mTempPos[0], mTempPos[1]);
+    }
+
+    //--- 线性取色 ---------------------------------------------------------------------------------
+
     /**
-     * 取两个颜色间的渐变区间 中的某一点的颜色
+     * 获取当前进度的具体颜色
      *
-     * @param startColor 开始的颜色
-     * @param endColor   结束的颜色
-     * @param radio      比例 [0, 1]
-     * @return 选中点的颜色
+     * @return 当前进度在渐变中的颜色
      */
-    private int getColorFrom(int startColor, int endColor, float radio) {
-        int redStart = Color.red(startColor);
-        int blueStart = Color.blue(startColor);
-        int greenStart = Color.green(startColor);
-        int redEnd = Color.red(endColor);
-        int blueEnd = Color.blue(endColor);
-        int greenEnd = Color.green(endColor);
+    public int getColor() {
+        return mStyle.getColorTable().getColor(mProgressPresent);
+    }
 
-        int red = (int) (redStart + ((redEnd - redStart) * radio + 0.5));
-        int greed = (int) (greenStart + ((greenEnd - greenStart) * radio + 0.5));
-        int blue = (int) (blueStart + ((blueEnd - blueStart) * radio + 0.5));
-        return Color.argb(255, red, greed, blue);
+    /**
+     * 获取某个百分比位置的颜色, 直接从颜色查找表中获取, 可以高频调用
+     *
+     * @param radio 取值[0,1]
+     * @return 最终颜色(包含透明度)
+     */
+    public int getColorAt(float radio) {
+        return mStyle.getColorTable().getColor(radio);
     }
 
 
     //region 对外接口 -------------------------------------------------------------------------------
 
     /**
-     * 设置进度
+     * 设置进度, 可以在任意线程调用
      *
      * @param progress 进度值
      */
     public void setProgress(int progress) {
-        System.out.println("setProgress = " + progress);
-        if (progress > mMaxValue) progress = mMaxValue;
-        if (progress < mMinValue) progress = mMinValue;
-        mProgressPresent = (progress - mMinValue) * 1.0f / (mMaxValue - mMinValue);
-        System.out.println("setProgress present = " + mProgressPresent);
+        setProgress(progress, false);
+    }
+
+    /**
+     * 设置进度
+     * 可以在任意线程调用, 在非 UI 线程调用时切换到 UI 线程执行, 因此调用后在该线程中不能立即读取到新的进度
+     * 动画由同一个复用的帧回调驱动, 不创建 ValueAnimator, 动画过程中再次设置进度时从当前位置直接转向新的目标,
+     * 只有整数进度变化时才回调, 用户按下时动画立即停止
+     *
+     * @param progress 进度值
+     * @param animate  是否使用动画过渡
+     */
+    public void setProgress(final int progress, final boolean animate) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            postToMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    setProgress(progress, animate);
+                }
+            });
+            return;
+        }
+        if (animate) {
+            animateTo(progress, mAnimDuration);
+            return;
+        }
+        cancelAnimation();
+        updateValue(mGeometry.alignValue(progress), false);
         if (null != mOnProgressChangeListener) {
-            mOnProgressChangeListener.onProgressChanged(this, progress, false);
+            dispatchProgressChanged(getProgress(), false);
         }
-        computeThumbPos(mProgressPresent);
-        postInvalidate();
+    }
+
+    /**
+     * 以动画方式过渡到指定进度, 动画过程中再次调用会从当前位置转向新的目标, 需要在 UI 线程调用
+     *
+     * @param progress 目标进度值
+     * @param duration 动画时长 ms
+     */
+    public void animateTo(int progress, long duration) {
+        double target = mGeometry.alignValue(progress);
+        if (target == getExactValue()) {
+            // 已经是目标数值, 不安排动画, 正在执行的动画停止并回到该数值的位置
+            if (mAnimating) {
+                cancelAnimation();
+                updateValue(target, false);
+            }
+            return;
+        }
+        startAnimation(target, duration);
+    }
+
+    /**
+     * 设置进度动画默认时长
+     *
+     * @param duration 动画时长 ms
+     */
+    public void setAnimationDuration(long duration) {
+        mAnimDuration = duration;
+    }
+
+    /**
+     * 设置进度动画插值器
+     *
+     * @param interpolator 插值器, 为 null 时使用减速插值器
+     */
+    public void setAnimationInterpolator(Interpolator interpolator) {
+        mAnimInterpolator = null != interpolator ? interpolator : new DecelerateInterpolator();
     }
 
     /**
@@ -614,7 +959,76 @@ public class ArcSeekBar extends View {
      * @return 当前进度数值
      */
     public int getProgress() {
-        return (int) (mProgressPresent * (mMaxValue - mMinValue)) + mMinValue;
+        return (int) mValue;
+    }
+
+    /**
+     * 获取当前数值, 用于小数数值范围, 已经对齐到步长
+     *
+     * @return 当前数值
+     */
+    public float getValue() {
+        return (float) getExactValue();
+    }
+
+    /**
+     * 获取当前数值, 用于 long 数值范围, 已经对齐到步长
+     *
+     * @return 当前数值
+     */
+    public long getLongValue() {
+        return Math.round(getExactValue());
+    }
+
+    // 当前数值, 非线性曲线只需要一次查表
+    private double getExactValue() {
+        return mValue;
+    }
+
+    /**
+     * 设置小数数值, 超出范围时限制在范围内, 可以在任意线程调用
+     *
+     * @param value 数值
+     */
+    public void setValue(float value) {
+        setExactValue(value);
+    }
+
+    /**
+     * 设置 long 数值, 超出范围时限制在范围内, 可以在任意线程调用
+     *
+     * @param value 数值
+     */
+    public void setValue(long value) {
+        setExactValue(value);
+    }
+
+    private void setExactValue(final double value) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            postToMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    setExactValue(value);
+                }
+            });
+            return;
+        }
+        cancelAnimation();
+        updateValue(mGeometry.alignValue(value), false);
+        if (null != mOnProgressChangeListener) {
+            dispatchProgressChanged(getProgress(), false);
+        }
+    }
+
+    // 切换到 UI 线程执行, 动画状态、性能指标和回调只在 UI 线程访问,
+    // 不使用 View.post, 因为 View 尚未添加到窗口时旧版本会把任务保存在调用线程的队列中
+    private static void postToMainThread(Runnable action) {
+        synchronized (ArcSeekBar.class) {
+            if (null == sMainHandler) {
+                sMainHandler = new Handler(Looper.getMainLooper());
+            }
+        }
+        sMainHandler.post(action);
     }
 
     /**
@@ -623,25 +1037,465 @@ public class ArcSeekBar extends View {
      * @param colors 颜色
      */
     public void setArcColors(int[] colors) {
-        mArcColors = colors;
-        resetShaderColor();
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setArcColors(colors).build());
+    }
+
+    /**
+     * 设置颜色插值方式
+     *
+     * @param interpolation {@link #COLOR_INTERPOLATION_RGB}, {@link #COLOR_INTERPOLATION_LINEAR}
+     *                      或 {@link #COLOR_INTERPOLATION_PERCEPTUAL}
+     */
+    public void setColorInterpolation(int interpolation) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setColorInterpolation(interpolation).build());
+    }
+
+    /**
+     * 设置外观样式, 相同配置的样式及其绘制资源在进程内共享, 样式未变化时不做任何处理,
+     * 因此在列表中复用时可以在每次绑定数据时直接调用
+     * 颜色变化只重新生成渐变和静态图层, 拖动按钮变化只重新获取拖动按钮精灵,
+     * 只有圆弧宽度、开口角度、描边宽度或阴影半径变化时才重新计算路径、阴影遮罩和点击区域
+     *
+     * @param style 外观样式
+     */
+    public void setStyle(ArcSeekBarStyle style) {
+        if (getStyle() == style) return;
+        int changes = mStyle.diff(style);
+        mStyle = style;
+        style.applyTo(mGeometry);
+        // 只重新计算受影响的部分, 拖动按钮画笔在绘制时按需更新
+        if ((changes & ArcSeekBarStyle.CHANGED_LAYOUT) != 0) {
+            layoutArc(getWidth(), getHeight());
+        } else {
+            if ((changes & ArcSeekBarStyle.CHANGED_COLOR) != 0) {
+                mStaticLayer = null;
+            }
+        }
         postInvalidate();
     }
 
     /**
-     * 设置最大数值
+     * 设置圆弧宽度, 会重新计算路径和点击区域
+     * 每个不同的宽度都会生成并缓存一套全尺寸的图层, 不适合逐帧动画, 需要动画时可以对 View 本身做缩放
+     *
+     * @param arcWidth 圆弧宽度 px
+     */
+    public void setArcWidth(float arcWidth) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setArcWidth(arcWidth).build());
+    }
+
+    /**
+     * 设置开口角度, 会重新计算路径和点击区域
+     * 与 {@link #setArcWidth(float)} 相同, 每个不同的角度都会生成并缓存一套图层, 不适合逐帧动画
+     *
+     * @param openAngle 开口角度
+     */
+    public void setOpenAngle(float openAngle) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setOpenAngle(openAngle).build());
+    }
+
+    /**
+     * 设置旋转角度, 可以每帧调用
+     * 旋转角度只写入几何配置, 不创建新的样式, 调用 {@link #getStyle()} 或修改其它外观时才合并到样式中.
+     * 显示刻度文字时文字需要在静态图层中反向旋转, 此时仍然通过样式修改并重新生成静态图层.
+     *
+     * @param rotateAngle 旋转角度
+     */
+    public void setRotateAngle(float rotateAngle) {
+        if (mStyle.hasScaleLabels()) {
+            setStyle(new ArcSeekBarStyle.Builder(getStyle()).setRotateAngle(rotateAngle).build());
+            return;
+        }
+        if (Float.compare(rotateAngle, mGeometry.getRotateAngle()) == 0) return;
+        // 拖动按钮位置在绘制坐标系中, 不受旋转影响, 只需要重绘
+        mGeometry.setRotateAngle(rotateAngle);
+        mRotationPending = Float.compare(rotateAngle, mStyle.getRotateAngle()) != 0;
+        invalidate();
+    }
+
+    /**
+     * 设置描边宽度
+     *
+     * @param borderWidth 描边宽度 px, 为 0 时不显示
+     */
+    public void setBorderWidth(int borderWidth) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setBorderWidth(borderWidth).build());
+    }
+
+    /**
+     * 设置描边颜色, 只重新生成静态图层
+     *
+     * @param borderColor 描边颜色
+     */
+    public void setBorderColor(int borderColor) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setBorderColor(borderColor).build());
+    }
+
+    /**
+     * 设置阴影(外发光)半径
+     *
+     * @param shadowRadius 阴影半径 px, 为 0 时不显示
+     */
+    public void setShadowRadius(int shadowRadius) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setShadowRadius(shadowRadius).build());
+    }
+
+    /**
+     * 设置拖动按钮颜色, 只更新拖动按钮画笔
+     *
+     * @param thumbColor 拖动按钮颜色
+     */
+    public void setThumbColor(int thumbColor) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setThumbColor(thumbColor).build());
+    }
+
+    /**
+     * 设置拖动按钮描边宽度
+     *
+     * @param thumbWidth 描边宽度 px
+     */
+    public void setThumbWidth(float thumbWidth) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setThumbWidth(thumbWidth).build());
+    }
+
+    /**
+     * 设置拖动按钮半径
+     *
+     * @param thumbRadius 拖动按钮半径 px
+     */
+    public void setThumbRadius(float thumbRadius) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setThumbRadius(thumbRadius).build());
+    }
+
+    /**
+     * 设置拖动按钮阴影
+     *
+     * @param shadowRadius 阴影半径 px, 为 0 时不显示
+     * @param shadowColor  阴影颜色
+     */
+    public void setThumbShadow(float shadowRadius, int shadowColor) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle())
+                .setThumbShadowRadius(shadowRadius).setThumbShadowColor(shadowColor).build());
+    }
+
+    /**
+     * 设置拖动按钮模式
+     *
+     * @param thumbMode {@link ArcSeekBarStyle#THUMB_MODE_STROKE}, {@link ArcSeekBarStyle#THUMB_MODE_FILL}
+     *                  或 {@link ArcSeekBarStyle#THUMB_MODE_FILL_STROKE}
+     */
+    public void setThumbMode(int thumbMode) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setThumbMode(thumbMode).build());
+    }
+
+    /**
+     * 设置中心数值文字, 数值使用复用的字符数组绘制, 修改进度时不创建新对象, 也不会触发 requestLayout
+     *
+     * @param textSize 文字大小 px, 为 0 时不显示
+     * @param prefix   前缀, 可以为 null
+     * @param suffix   后缀, 可以为 null
+     */
+    public void setValueLabel(float textSize, String prefix, String suffix) {
+        int color = VALUE_LABEL_COLOR_PROGRESS;
+        int decimals = 0;
+        boolean grouping = false;
+        if (null != mValueLabel) {
+            color = mValueLabel.getColor();
+            decimals = mValueLabel.getDecimals();
+            grouping = mValueLabel.isGrouping();
+        }
+        mValueLabel = textSize > 0 ? new ArcValueLabel(textSize, color, prefix, suffix, decimals, grouping) : null;
+        postInvalidate();
+    }
+
+    /**
+     * 设置中心数值文字格式, 显示的是精确数值, 格式化时同样不创建新对象
+     * 小数点和分组符号使用当前语言的符号, 需要先通过 {@link #setValueLabel(float, String, String)} 开启中心数值
+     *
+     * @param decimals 小数位数 [0, 6], 按四舍五入显示
+     * @param grouping 整数部分是否按千位分组, 例如 1,234,567
+     */
+    public void setValueLabelFormat(int decimals, boolean grouping) {
+        if (null == mValueLabel) return;
+        if (mValueLabel.getDecimals() == decimals && mValueLabel.isGrouping() == grouping) return;
+        mValueLabel = mValueLabel.withFormat(decimals, grouping);
+        postInvalidate();
+    }
+
+    /**
+     * 设置中心数值文字颜色
+     *
+     * @param color 文字颜色, 为 {@link #VALUE_LABEL_COLOR_PROGRESS} 时跟随当前进度颜色
+     */
+    public void setValueLabelColor(int color) {
+        if (null == mValueLabel || mValueLabel.getColor() == color) return;
+        mValueLabel = mValueLabel.withColor(color);
+        postInvalidate();
+    }
+
+    /**
+     * 设置刻度, 刻度均匀分布在最小值和最大值之间, 只会重新生成静态图层
+     * 刻度线和刻度文字绘制在静态图层中, 每一帧的绘制调用次数不随刻度数量增加
+     *
+     * @param count      主刻度间隔数量, 为 0 时不显示刻度
+     * @param minorCount 相邻主刻度之间的小刻度数量
+     */
+    public void setTicks(int count, int minorCount) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setTicks(count, minorCount).build());
+    }
+
+    /**
+     * 设置刻度文字
+     *
+     * @param textSize 文字大小 px, 为 0 时不显示刻度文字
+     * @param color    文字颜色
+     */
+    public void setScaleText(float textSize, int color) {
+        setStyle(new ArcSeekBarStyle.Builder(getStyle()).setScaleTextSize(textSize).setScaleTextColor(color).build());
+    }
+
+    /**
+     * 获取外观样式
+     *
+     * @return 当前外观样式
+     */
+    public ArcSeekBarStyle getStyle() {
+        if (mRotationPending) {
+            mRotationPending = false;
+            mStyle = new ArcSeekBarStyle.Builder(mStyle).setRotateAngle(mGeometry.getRotateAngle()).build();
+        }
+        return mStyle;
+    }
+
+    /**
+     * 设置拖动时进度回调的方式
+     * 按帧回调时进度回调合并到下一帧(Choreographer 动画回调)统一发送, 抬起或离开窗口时立即发送尚未发送的回调
+     *
+     * @param dispatchMode {@link #DISPATCH_MODE_IMMEDIATE} 每个触摸事件都可能回调,
+     *                     {@link #DISPATCH_MODE_FRAME} 每帧最多回调一次
+     */
+    public void setProgressDispatchMode(int dispatchMode) {
+        if (dispatchMode != DISPATCH_MODE_FRAME) {
+            flushDragProgress();
+        }
+        mDispatchMode = dispatchMode;
+    }
+
+    /**
+     * 设置渲染模式, 默认为硬件加速, 软件绘制仅作为兼容方案使用
+     *
+     * @param renderMode {@link #RENDER_MODE_HARDWARE} 或 {@link #RENDER_MODE_SOFTWARE}
+     */
+    public void setRenderMode(int renderMode) {
+        if (mRenderMode == renderMode) return;
+        mRenderMode = renderMode;
+        applyRenderMode();
+        invalidate();
+    }
+
+    /**
+     * 获取渲染模式
+     *
+     * @return 当前渲染模式
+     */
+    public int getRenderMode() {
+        return mRenderMode;
+    }
+
+    /**
+     * 设置是否允许用户拖动和点击, 只读时不会创建和计算任何触摸相关的数据, 第一次开启交互时才创建,
+     * 只读时触摸事件直接交给父控件
+     *
+     * @param interactive 是否允许交互
+     */
+    public void setInteractive(boolean interactive) {
+        if (mInteractive == interactive) return;
+        mInteractive = interactive;
+        if (interactive) {
+            initTouchData();
+        } else {
+            // 结束正在进行的拖动
+            flushDragProgress();
+            if (null != mOnProgressChangeListener && moved) {
+                mOnProgressChangeListener.onStopTrackingTouch(this);
+            }
+            moved = false;
+            mCanDrag = false;
+            mInTapRegion = false;
+        }
+    }
+
+    /**
+     * 是否允许用户交互
+     *
+     * @return 是否允许交互
+     */
+    public boolean isInteractive() {
+        return mInteractive;
+    }
+
+    /**
+     * 开启或关闭拖动位置预测, 开启后快速拖动时拖动按钮会绘制在根据最近采样外推的位置, 减少拖动按钮落后手指的距离,
+     * 预测只影响拖动按钮的绘制, 进度和回调仍然使用真实的触摸采样, 抬起或取消时拖动按钮回到真实位置
+     *
+     * @param enabled 是否开启
+     */
+    public void setTouchPredictionEnabled(boolean enabled) {
+        if (enabled == (null != mPredictor)) return;
+        if (enabled) {
+            mPredictor = new ArcMotionPredictor();
+        } else {
+            endPrediction();
+            mPredictor = null;
+        }
+    }
+
+    /**
+     * 开启或关闭后台生成绘制资源, 开启后尺寸变化时如果路径、阴影遮罩和静态图层尚未缓存, 会在后台线程中生成,
+     * 生成完成前绘制一条纯色圆弧占位, 拖动和点击不受影响, 适用于大量实例同时旋转屏幕或改变窗口大小的场景,
+     * 后台生成失败(例如内存不足)时改为在 UI 线程同步生成, 不会一直显示占位圆弧
+     *
+     * @param enabled 是否开启
+     */
+    public void setAsyncLayoutEnabled(boolean enabled) {
+        mAsyncLayout = enabled;
+    }
+
+    /**
+     * 开启或关闭性能指标, 关闭时不会产生任何额外开销, 需要在 UI 线程调用
+     * 开启后记录绘制、布局、触摸处理耗时和触摸到绘制的延迟, 以及刷新、跳过刷新和回调次数, 并添加 Trace 区段
+     *
+     * @param enabled 是否开启
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled == (null != mMetrics)) return;
+        mMetrics = enabled ? new ArcSeekBarMetrics() : null;
+    }
+
+    /**
+     * 获取性能指标
+     *
+     * @return 性能指标, 未开启时为 null
+     */
+    public ArcSeekBarMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * 设置圆弧边缘外额外允许点击的范围
+     *
+     * @param touchSlop 额外范围 px
+     */
+    public void setTouchSlop(float touchSlop) {
+        mTouchSlop = touchSlop;
+    }
+
+    /**
+     * 设置最大数值, 最小数值和步长保持不变
+     * 不大于最小数值时暂不生效, 直到通过 {@link #setMinValue(int)} 组成有效范围, 因此两端可以按任意顺序设置
      * @param max 最大数值
      */
     public void setMaxValue(int max) {
-        mMaxValue = max;
+        mRequestedMax = max;
+        applyRequestedRange();
     }
 
     /**
-     * 设置最小数值
+     * 设置最小数值, 最大数值和步长保持不变
+     * 不小于最大数值时暂不生效, 直到通过 {@link #setMaxValue(int)} 组成有效范围, 因此两端可以按任意顺序设置
      * @param min 最小数值
      */
     public void setMinValue(int min) {
-        mMinValue = min;
+        mRequestedMin = min;
+        applyRequestedRange();
+    }
+
+    // 单独设置的两端组成有效范围时才修改范围, 中间状态不抛出异常
+    private void applyRequestedRange() {
+        if (mRequestedMax > mRequestedMin) {
+            setRange(mRequestedMin, mRequestedMax, mGeometry.getStep());
+        }
+    }
+
+    /**
+     * 同时设置最小数值和最大数值, 步长保持不变
+     *
+     * @param min 最小数值
+     * @param max 最大数值, 必须大于最小数值
+     * @throws IllegalArgumentException 最大数值不大于最小数值时
+     */
+    public void setRange(double min, double max) {
+        setRange(min, max, mGeometry.getStep());
+    }
+
+    /**
+     * 设置小数数值范围和步长, 之后通过 {@link #getValue()} 获取数值
+     *
+     * @param min  最小数值
+     * @param max  最大数值, 必须大于最小数值
+     * @param step 步长, 数值向下对齐到步长, 为 0 时连续变化
+     * @throws IllegalArgumentException 最大数值不大于最小数值时
+     */
+    public void setValueRange(float min, float max, float step) {
+        setRange(min, max, step);
+    }
+
+    /**
+     * 设置 long 数值范围和步长, 之后通过 {@link #getLongValue()} 获取数值
+     * 通过 {@link #setValue(long)} 设置的数值以 double 保存, 绝对值超过 2^53 时才会损失精度,
+     * 拖动和动画的位置由 float 进度百分比计算, 分辨率约为范围的 2^-24, 远小于一个像素对应的数值
+     *
+     * @param min  最小数值
+     * @param max  最大数值, 必须大于最小数值
+     * @param step 步长, 数值向下对齐到步长
+     * @throws IllegalArgumentException 最大数值不大于最小数值时
+     */
+    public void setValueRange(long min, long max, long step) {
+        setRange(min, max, Math.max(1, step));
+    }
+
+    /**
+     * 设置数值曲线, 例如音量使用 {@link ArcValueMapping#exponential(float)}, 频率使用 {@link ArcValueMapping#logScale(double, double)},
+     * 曲线在创建时已经计算为查找表, 拖动和回调时只需要查表, 修改曲线时保持当前数值不变
+     *
+     * @param mapping 数值曲线, 为 null 时使用线性映射
+     */
+    public void setValueMapping(ArcValueMapping mapping) {
+        double value = getExactValue();
+        mGeometry.setMapping(mapping);
+        if (mStyle.hasScaleLabels()) {
+            // 刻度文字是刻度所在进度经过数值曲线得到的数值, 需要重新获取静态图层
+            mStaticLayer = null;
+            postInvalidate();
+        }
+        if (mAnimating) {
+            cancelAnimation();
+        }
+        updateValue(value, true);
+    }
+
+    // 修改数值范围, 保持当前数值不变(超出范围时限制在范围内), 并移动拖动按钮到对应位置
+    private void setRange(double min, double max, double step) {
+        double value = getExactValue();
+        mGeometry.setRange(min, max, step);
+        mRequestedMin = min;
+        mRequestedMax = max;
+        if (mStyle.hasScaleLabels()) {
+            // 刻度文字显示的是数值, 需要重新获取静态图层
+            mStaticLayer = null;
+            postInvalidate();
+        } else if (null != mValueLabel) {
+            // 进度百分比不变时数值也可能变化
+            postInvalidate();
+        }
+        double clamped = mGeometry.alignValue(value);
+        if (mAnimating) {
+            cancelAnimation();
+        }
+        updateValue(clamped, true);
+        if (clamped != value && null != mOnProgressChangeListener) {
+            dispatchProgressChanged(getProgress(), false);
+        }
     }
 
     /**
@@ -650,7 +1504,7 @@ public class ArcSeekBar extends View {
      * @param colorArrayRes 颜色资源 R.array.arc_color
      */
     public void setArcColors(int colorArrayRes) {
-        setArcColors(getColorsByArrayResId(getContext(), colorArrayRes));
+        setArcColors(ArcAttributes.getColors(getContext(), colorArrayRes));
     }
 
     // endregion -----------------------------------------------------------------------------------
@@ -0,0 +1,258 @@
+package com.gcssloop.widget;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+
+/**
+ * 作用: ArcSeekBar 性能指标
+ * 作者: GcsSloop
+ * 摘要: 通过 {@link ArcSeekBar#setMetricsEnabled(boolean)} 开启, 关闭时不会创建本对象, 也不会产生任何额外开销.
+ * 1. 耗时分布
+ * -  记录绘制、布局、触摸事件处理的耗时, 以及从触摸采样到拖动按钮绘制完成的延迟,
+ * -  耗时按 2 的幂分桶(单位微秒)统计, 记录时不创建新对象.
+ * 2. 计数
+ * -  记录绘制次数、局部刷新请求次数、因进度没有变化而跳过的刷新次数、
+ * -  几何重建(缓存未命中时生成路径、阴影遮罩和静态图层)次数和进度回调次数,
+ * -  可以据此在仪器测试中检查每个事件的刷新次数和每次配置变化的重建次数是否超出预算.
+ * -  每帧的绘制调用次数不在这里统计, 由单元测试在记录绘制操作的画布上检查.
+ * 3. Trace
+ * -  开启后 API 18 及以上会在绘制、布局和触摸事件处理时添加 android.os.Trace 区段, 可以在 systrace / Perfetto 中查看.
+ * 4. 导出
+ * -  通过 {@link #snapshot()} 获取不可变的快照, 通过 {@link #reset()} 清空, 均需要在 UI 线程调用.
+ */
+public final class ArcSeekBarMetrics {
+    static final int SECTION_DRAW = 0;      // 绘制
+    static final int SECTION_LAYOUT = 1;    // 布局
+    static final int SECTION_TOUCH = 2;     // 触摸事件处理
+
+    private static final String[] SECTION_NAMES = {
+            "ArcSeekBar#onDraw", "ArcSeekBar#layout", "ArcSeekBar#onTouchEvent"
+    };
+
+    private final Histogram mDraw = new Histogram();
+    private final Histogram mLayout = new Histogram();
+    private final Histogram mTouch = new Histogram();
+    private final Histogram mInputToDraw = new Histogram();
+    private long mRedraws;          // 绘制次数
+    private long mSkippedRedraws;   // 进度没有变化而跳过的刷新次数
+    private long mInvalidations;    // 局部刷新请求次数
+    private long mGeometryRebuilds; // 几何重建次数(共享资源缓存未命中)
+    private long mCallbacks;        // 进度回调次数
+    private long mPendingInputTime = -1;    // 尚未绘制的触摸采样时间 ms(uptimeMillis)
+
+    ArcSeekBarMetrics() {
+    }
+
+    //--- 记录 -------------------------------------------------------------------------------------
+
+    // 开始一个区段, 返回开始时间 ns
+    long beginSection(int section) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(SECTION_NAMES[section]);
+        }
+        return System.nanoTime();
+    }
+
+    // 结束一个区段并记录耗时
+    void endSection(int section, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+        if (section == SECTION_DRAW) {
+            mDraw.record(micros);
+            mRedraws++;
+            if (mPendingInputTime >= 0) {
+                mInputToDraw.record((SystemClock.uptimeMillis() - mPendingInputTime) * 1000);
+                mPendingInputTime = -1;
+            }
+        } else if (section == SECTION_LAYOUT) {
+            mLayout.record(micros);
+        } else {
+            mTouch.record(micros);
+        }
+    }
+
+    // 记录改变了进度的触摸采样时间, 下一次绘制完成时计算延迟, 同一帧内只记录最早的采样
+    void onInput(long eventTime) {
+        if (mPendingInputTime < 0) {
+            mPendingInputTime = eventTime;
+        }
+    }
+
+    void onSkippedRedraw() {
+        mSkippedRedraws++;
+    }
+
+    void onCallback() {
+        mCallbacks++;
+    }
+
+    void onInvalidate() {
+        mInvalidations++;
+    }
+
+    void onGeometryRebuild() {
+        mGeometryRebuilds++;
+    }
+
+    //--- 导出 -------------------------------------------------------------------------------------
+
+    /**
+     * 获取当前所有指标的快照
+     *
+     * @return 不可变的快照
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * 清空所有指标
+     */
+    public void reset() {
+        mDraw.reset();
+        mLayout.reset();
+        mTouch.reset();
+        mInputToDraw.reset();
+        mRedraws = 0;
+        mSkippedRedraws = 0;
+        mInvalidations = 0;
+        mGeometryRebuilds = 0;
+        mCallbacks = 0;
+        mPendingInputTime = -1;
+    }
+
+    /**
+     * 指标快照
+     */
+    public static final class Snapshot {
+        public final Histogram draw;            // 绘制耗时
+        public final Histogram layout;          // 布局耗时
+        public final Histogram touch;           // 触摸事件处理耗时
+        public final Histogram inputToDraw;     // 触摸采样到绘制完成的延迟
+        public final long redraws;              // 绘制次数
+        public final long skippedRedraws;       // 进度没有变化而跳过的刷新次数
+        public final long invalidations;        // 局部刷新请求次数
+        public final long geometryRebuilds;     // 几何重建次数(共享资源缓存未命中)
+        public final long callbacks;            // 进度回调次数
+
+        private Snapshot(ArcSeekBarMetrics metrics) {
+            draw = metrics.mDraw.copy();
+            layout = metrics.mLayout.copy();
+            touch = metrics.mTouch.copy();
+            inputToDraw = metrics.mInputToDraw.copy();
+            redraws = metrics.mRedraws;
+            skippedRedraws = metrics.mSkippedRedraws;
+            invalidations = metrics.mInvalidations;
+            geometryRebuilds = metrics.mGeometryRebuilds;
+            callbacks = metrics.mCallbacks;
+        }
+
+        @Override
+        public String toString() {
+            return "draw=" + draw + ", layout=" + layout + ", touch=" + touch + ", inputToDraw=" + inputToDraw
+                    + ", redraws=" + redraws + ", skippedRedraws=" + skippedRedraws
+                    + ", invalidations=" + invalidations + ", geometryRebuilds=" + geometryRebuilds
+                    + ", callbacks=" + callbacks;
+        }
+    }
+
+    /**
+     * 耗时分布, 单位微秒, 第 i 个桶统计 [2^(i-1), 2^i) 范围内的数据, 第 0 个桶统计 0
+     */
+    public static final class Histogram {
+        public static final int BUCKET_COUNT = 32;
+
+        private final long[] mBuckets = new long[BUCKET_COUNT];
+        private long mCount;
+        private long mSum;
+        private long mMin = Long.MAX_VALUE;
+        private long mMax;
+
+        Histogram() {
+        }
+
+        void record(long micros) {
+            if (micros < 0) micros = 0;
+            int bucket = 64 - Long.numberOfLeadingZeros(micros);
+            mBuckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+            mCount++;
+            mSum += micros;
+            if (micros < mMin) mMin = micros;
+            if (micros > mMax) mMax = micros;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                mBuckets[i] = 0;
+            }
+            mCount = 0;
+            mSum = 0;
+            mMin = Long.MAX_VALUE;
+            mMax = 0;
+        }
+
+        Histogram copy() {
+            Histogram copy = new Histogram();
+            System.arraycopy(mBuckets, 0, copy.mBuckets, 0, BUCKET_COUNT);
+            copy.mCount = mCount;
+            copy.mSum = mSum;
+            copy.mMin = mMin;
+            copy.mMax = mMax;
+            return copy;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getMin() {
+            return mCount > 0 ? mMin : 0;
+        }
+
+        public long getMax() {
+            return mMax;
+        }
+
+        public long getMean() {
+            return mCount > 0 ? mSum / mCount : 0;
+        }
+
+        /**
+         * 获取某个桶内的数据数量
+         *
+         * @param bucket [0, {@link #BUCKET_COUNT})
+         */
+        public long getBucket(int bucket) {
+            return mBuckets[bucket];
+        }
+
+        /**
+         * 获取百分位数的近似值, 返回所在桶的上限(不超过最大值)
+         *
+         * @param percentile 取值 (0, 100]
+         * @return 近似耗时 微秒
+         */
+        public long getPercentile(float percentile) {
+            if (mCount == 0) return 0;
+            long target = (long) Math.ceil(mCount * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += mBuckets[i];
+                if (seen >= target) {
+                    long upper = i == 0 ? 0 : (1L << i) - 1;
+                    return Math.min(upper, mMax);
+                }
+            }
+            return mMax;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + mCount + ", mean=" + getMean() + "us, p50=" + getPercentile(50)
+                    + "us, p99=" + getPercentile(99) + "us, max=" + mMax + "us}";
+        }
+    }
+}
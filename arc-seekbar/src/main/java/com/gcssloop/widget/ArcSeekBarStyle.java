@@ -0,0 +1,703 @@
+package com.gcssloop.widget;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.LruCache;
+import android.util.TypedValue;
+
+import com.gcssloop.arcseekbar.R;
+
+import java.util.Arrays;
+
+/**
+ * 作用: ArcSeekBar 的外观样式
+ * 作者: GcsSloop
+ * 摘要: 样式是不可变对象, 包含颜色、圆弧宽度、开口角度、旋转角度、描边、阴影、拖动按钮和刻度等所有外观配置,
+ * 进度、数值范围和交互相关的配置不属于样式.
+ * 1. 共享
+ * -  通过 {@link Builder#build()} 创建的样式会在进程内去重, 配置相同的样式始终是同一个实例,
+ * -  同一个样式的颜色查找表、拖动按钮精灵, 以及相同尺寸下的路径、渐变、阴影遮罩和静态图层均只创建一次,
+ * -  只有部分配置不同的样式也会共享不受影响的资源, 例如只有拖动按钮不同的样式共享颜色查找表和静态图层.
+ * -  因此在列表中复用 ArcSeekBar 时, 重新绑定数据只需要修改进度.
+ * 2. 修改
+ * -  样式创建后不能修改, 需要修改时使用 {@link Builder#Builder(ArcSeekBarStyle)} 复制后重新创建.
+ */
+public final class ArcSeekBarStyle {
+    public static final int THUMB_MODE_STROKE = 0;                  // 拖动按钮模式 - 描边
+    public static final int THUMB_MODE_FILL = 1;                    // 拖动按钮模式 - 填充
+    public static final int THUMB_MODE_FILL_STROKE = 2;             // 拖动按钮模式 - 填充+描边
+
+    private static final int DEFAULT_ARC_WIDTH = 40;                // 默认宽度 dp
+    private static final float DEFAULT_OPEN_ANGLE = 120;            // 开口角度
+    private static final float DEFAULT_ROTATE_ANGLE = 90;           // 旋转角度
+    private static final int DEFAULT_BORDER_WIDTH = 0;              // 默认描边宽度
+    private static final int DEFAULT_BORDER_COLOR = 0xffffffff;     // 默认描边颜色
+
+    private static final int DEFAULT_THUMB_COLOR = 0xffffffff;      // 拖动按钮颜色
+    private static final int DEFAULT_THUMB_WIDTH = 2;               // 拖动按钮描边宽度 dp
+    private static final int DEFAULT_THUMB_RADIUS = 15;             // 拖动按钮半径 dp
+    private static final int DEFAULT_THUMB_SHADOW_RADIUS = 0;       // 拖动按钮阴影半径 dp
+    private static final int DEFAULT_THUMB_SHADOW_COLOR = 0xFF000000; // 拖动按钮阴影颜色
+
+    private static final int DEFAULT_SHADOW_RADIUS = 0;             // 默认阴影半径 dp
+
+    private static final int DEFAULT_TICK_LENGTH = 8;               // 主刻度长度 dp
+    private static final int DEFAULT_TICK_WIDTH = 1;                // 刻度线宽度 dp
+    private static final int DEFAULT_TICK_COLOR = 0xffffffff;       // 刻度颜色
+    private static final int DEFAULT_SCALE_TEXT_COLOR = 0xffffffff; // 刻度文字颜色
+
+    private static final int MAX_CACHED_STYLES = 64;                // 进程内最多缓存的样式数量
+
+    static final int CHANGED_LAYOUT = 1;        // 变化影响路径、阴影和点击区域(圆弧宽度、开口角度、描边宽度、阴影半径)
+    static final int CHANGED_COLOR = 1 << 1;    // 变化只影响渐变和静态图层(颜色、插值方式、描边颜色、刻度)
+    static final int CHANGED_ROTATION = 1 << 2; // 变化只影响画布旋转和坐标转换
+    static final int CHANGED_THUMB = 1 << 3;    // 变化只影响拖动按钮精灵
+
+    // 进程内共享的样式, 键和值为同一个实例
+    private static final LruCache<ArcSeekBarStyle, ArcSeekBarStyle> sStyles =
+            new LruCache<ArcSeekBarStyle, ArcSeekBarStyle>(MAX_CACHED_STYLES);
+
+    // 进程内共享的颜色查找表, 颜色和插值方式相同的样式共用同一个查找表
+    private static final LruCache<ColorKey, ArcColorTable> sColorTables =
+            new LruCache<ColorKey, ArcColorTable>(MAX_CACHED_STYLES);
+
+    // 进程内共享的拖动按钮精灵, 拖动按钮配置相同的样式共用同一个精灵
+    private static final LruCache<ThumbKey, Bitmap> sThumbSprites =
+            new LruCache<ThumbKey, Bitmap>(MAX_CACHED_STYLES);
+
+    private final int[] mArcColors;         // 渐变颜色
+    private final int mColorInterpolation;  // 颜色插值方式
+    private final float mArcWidth;          // 圆弧宽度
+    private final float mOpenAngle;         // 开口角度
+    private final float mRotateAngle;       // 旋转角度
+    private final int mBorderWidth;         // 描边宽度
+    private final int mBorderColor;         // 描边颜色
+    private final int mThumbColor;          // 拖动按钮颜色
+    private final float mThumbWidth;        // 拖动按钮宽度
+    private final float mThumbRadius;       // 拖动按钮半径
+    private final float mThumbShadowRadius; // 拖动按钮阴影半径
+    private final int mThumbShadowColor;    // 拖动按钮阴影颜色
+    private final int mThumbMode;           // 拖动按钮模式
+    private final int mShadowRadius;        // 阴影半径
+    private final int mTickCount;           // 主刻度间隔数量, 为 0 时不显示刻度
+    private final int mMinorTickCount;      // 相邻主刻度之间的小刻度数量
+    private final float mTickLength;        // 主刻度长度
+    private final float mTickWidth;         // 刻度线宽度
+    private final int mTickColor;           // 刻度颜色
+    private final float mScaleTextSize;     // 刻度文字大小, 为 0 时不显示刻度文字
+    private final int mScaleTextColor;      // 刻度文字颜色
+    private final int mHashCode;
+
+    private final ArcColorTable mColorTable;    // 颜色查找表, 只有共享的实例才会创建
+    private volatile Bitmap mThumbSprite;       // 拖动按钮精灵(包含阴影), 第一次使用时生成
+    private final float mThumbSpriteOffset;     // 拖动按钮中心相对精灵左上角的偏移
+
+    private ArcSeekBarStyle(Builder builder, boolean shared) {
+        mArcColors = builder.mArcColors.clone();
+        mColorInterpolation = builder.mColorInterpolation;
+        mArcWidth = builder.mArcWidth;
+        mOpenAngle = builder.mOpenAngle;
+        mRotateAngle = builder.mRotateAngle;
+        mBorderWidth = builder.mBorderWidth;
+        mBorderColor = builder.mBorderColor;
+        mThumbColor = builder.mThumbColor;
+        mThumbWidth = builder.mThumbWidth;
+        mThumbRadius = builder.mThumbRadius;
+        mThumbShadowRadius = builder.mThumbShadowRadius;
+        mThumbShadowColor = builder.mThumbShadowColor;
+        mThumbMode = builder.mThumbMode;
+        mShadowRadius = builder.mShadowRadius;
+        mTickCount = Math.max(0, builder.mTickCount);
+        mMinorTickCount = Math.max(0, builder.mMinorTickCount);
+        mTickLength = builder.mTickLength;
+        mTickWidth = builder.mTickWidth;
+        mTickColor = builder.mTickColor;
+        mScaleTextSize = builder.mScaleTextSize;
+        mScaleTextColor = builder.mScaleTextColor;
+        mThumbSpriteOffset = (float) Math.ceil(mThumbRadius + mThumbWidth + mThumbShadowRadius * 2 + 1);
+        mHashCode = computeHashCode();
+        mColorTable = shared ? obtainColorTable(mArcColors, mColorInterpolation) : null;
+    }
+
+    // 获取共享的颜色查找表
+    private static ArcColorTable obtainColorTable(int[] colors, int interpolation) {
+        ColorKey key = new ColorKey(colors, interpolation);
+        synchronized (sColorTables) {
+            ArcColorTable table = sColorTables.get(key);
+            if (null == table) {
+                table = new ArcColorTable(colors, interpolation);
+                sColorTables.put(key, table);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * 从布局属性中读取样式, 未设置的属性使用默认值
+     *
+     * @param arcColors 渐变颜色, 由调用者解析颜色数组资源
+     */
+    static ArcSeekBarStyle fromAttributes(Context context, TypedArray ta, int[] arcColors) {
+        return new Builder(context)
+                .setArcColors(arcColors)
+                .setColorInterpolation(ta.getInt(R.styleable.ArcSeekBar_arc_color_interpolation, ArcColorTable.INTERPOLATION_RGB))
+                .setArcWidth(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_width, dp2px(context, DEFAULT_ARC_WIDTH)))
+                .setOpenAngle(ta.getFloat(R.styleable.ArcSeekBar_arc_open_angle, DEFAULT_OPEN_ANGLE))
+                .setRotateAngle(ta.getFloat(R.styleable.ArcSeekBar_arc_rotate_angle, DEFAULT_ROTATE_ANGLE))
+                .setBorderWidth(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_border_width, dp2px(context, DEFAULT_BORDER_WIDTH)))
+                .setBorderColor(ta.getColor(R.styleable.ArcSeekBar_arc_border_color, DEFAULT_BORDER_COLOR))
+                .setThumbColor(ta.getColor(R.styleable.ArcSeekBar_arc_thumb_color, DEFAULT_THUMB_COLOR))
+                .setThumbRadius(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_radius, dp2px(context, DEFAULT_THUMB_RADIUS)))
+                .setThumbShadowRadius(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_shadow_radius, dp2px(context, DEFAULT_THUMB_SHADOW_RADIUS)))
+                .setThumbShadowColor(ta.getColor(R.styleable.ArcSeekBar_arc_thumb_shadow_color, DEFAULT_THUMB_SHADOW_COLOR))
+                .setThumbWidth(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_thumb_width, dp2px(context, DEFAULT_THUMB_WIDTH)))
+                .setThumbMode(ta.getInt(R.styleable.ArcSeekBar_arc_thumb_mode, THUMB_MODE_STROKE))
+                .setShadowRadius(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_shadow_radius, dp2px(context, DEFAULT_SHADOW_RADIUS)))
+                .setTicks(ta.getInt(R.styleable.ArcSeekBar_arc_tick_count, 0), ta.getInt(R.styleable.ArcSeekBar_arc_minor_tick_count, 0))
+                .setTickLength(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_tick_length, dp2px(context, DEFAULT_TICK_LENGTH)))
+                .setTickWidth(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_tick_width, dp2px(context, DEFAULT_TICK_WIDTH)))
+                .setTickColor(ta.getColor(R.styleable.ArcSeekBar_arc_tick_color, DEFAULT_TICK_COLOR))
+                .setScaleTextSize(ta.getDimensionPixelSize(R.styleable.ArcSeekBar_arc_scale_text_size, 0))
+                .setScaleTextColor(ta.getColor(R.styleable.ArcSeekBar_arc_scale_text_color, DEFAULT_SCALE_TEXT_COLOR))
+                .build();
+    }
+
+    private static int dp2px(Context context, int dp) {
+        return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, context.getResources().getDisplayMetrics());
+    }
+
+    //--- 样式配置 ---------------------------------------------------------------------------------
+
+    public int[] getArcColors() {
+        return mArcColors.clone();
+    }
+
+    public int getColorInterpolation() {
+        return mColorInterpolation;
+    }
+
+    public float getArcWidth() {
+        return mArcWidth;
+    }
+
+    public float getOpenAngle() {
+        return mOpenAngle;
+    }
+
+    public float getRotateAngle() {
+        return mRotateAngle;
+    }
+
+    public int getBorderWidth() {
+        return mBorderWidth;
+    }
+
+    public int getBorderColor() {
+        return mBorderColor;
+    }
+
+    public int getThumbColor() {
+        return mThumbColor;
+    }
+
+    public float getThumbWidth() {
+        return mThumbWidth;
+    }
+
+    public float getThumbRadius() {
+        return mThumbRadius;
+    }
+
+    public float getThumbShadowRadius() {
+        return mThumbShadowRadius;
+    }
+
+    public int getThumbShadowColor() {
+        return mThumbShadowColor;
+    }
+
+    public int getThumbMode() {
+        return mThumbMode;
+    }
+
+    public int getShadowRadius() {
+        return mShadowRadius;
+    }
+
+    public int getTickCount() {
+        return mTickCount;
+    }
+
+    public int getMinorTickCount() {
+        return mMinorTickCount;
+    }
+
+    public float getTickLength() {
+        return mTickLength;
+    }
+
+    public float getTickWidth() {
+        return mTickWidth;
+    }
+
+    public int getTickColor() {
+        return mTickColor;
+    }
+
+    public float getScaleTextSize() {
+        return mScaleTextSize;
+    }
+
+    public int getScaleTextColor() {
+        return mScaleTextColor;
+    }
+
+    //--- 共享资源 ---------------------------------------------------------------------------------
+
+    ArcColorTable getColorTable() {
+        return mColorTable;
+    }
+
+    // 圆弧宽度以外还需要预留的距离(描边、阴影)
+    float getLayoutInset() {
+        return mBorderWidth + mShadowRadius * 2;
+    }
+
+    // 是否显示刻度文字, 刻度文字需要保持正向, 因此与旋转角度相关
+    boolean hasScaleLabels() {
+        return mTickCount > 0 && mScaleTextSize > 0;
+    }
+
+    // 将圆弧相关配置应用到几何计算中
+    void applyTo(ArcGeometry geometry) {
+        geometry.setArcWidth(mArcWidth);
+        geometry.setOpenAngle(mOpenAngle);
+        geometry.setRotateAngle(mRotateAngle);
+    }
+
+    /**
+     * 计算与另一个样式的差异, 用于只重新计算受影响的部分
+     *
+     * @return {@link #CHANGED_LAYOUT}, {@link #CHANGED_COLOR}, {@link #CHANGED_ROTATION} 和 {@link #CHANGED_THUMB} 的组合
+     */
+    int diff(ArcSeekBarStyle other) {
+        if (this == other) return 0;
+        int changes = 0;
+        if (Float.compare(mArcWidth, other.mArcWidth) != 0
+                || Float.compare(mOpenAngle, other.mOpenAngle) != 0
+                || mBorderWidth != other.mBorderWidth
+                || mShadowRadius != other.mShadowRadius) {
+            changes |= CHANGED_LAYOUT;
+        }
+        if (mColorTable != other.mColorTable || mBorderColor != other.mBorderColor
+                || mTickCount != other.mTickCount
+                || mMinorTickCount != other.mMinorTickCount
+                || Float.compare(mTickLength, other.mTickLength) != 0
+                || Float.compare(mTickWidth, other.mTickWidth) != 0
+                || mTickColor != other.mTickColor
+                || Float.compare(mScaleTextSize, other.mScaleTextSize) != 0
+                || mScaleTextColor != other.mScaleTextColor) {
+            changes |= CHANGED_COLOR;
+        }
+        if (Float.compare(mRotateAngle, other.mRotateAngle) != 0) {
+            changes |= CHANGED_ROTATION;
+            if (hasScaleLabels() || other.hasScaleLabels()) {
+                // 刻度文字在静态图层中反向旋转以保持正向
+                changes |= CHANGED_COLOR;
+            }
+        }
+        if (mThumbColor != other.mThumbColor
+                || Float.compare(mThumbWidth, other.mThumbWidth) != 0
+                || Float.compare(mThumbRadius, other.mThumbRadius) != 0
+                || Float.compare(mThumbShadowRadius, other.mThumbShadowRadius) != 0
+                || mThumbShadowColor != other.mThumbShadowColor
+                || mThumbMode != other.mThumbMode) {
+            changes |= CHANGED_THUMB;
+        }
+        return changes;
+    }
+
+    // 将拖动按钮相关配置应用到画笔中
+    void applyThumbPaint(Paint paint) {
+        paint.setColor(mThumbColor);
+        paint.setStrokeWidth(mThumbWidth);
+        paint.setStrokeCap(Paint.Cap.ROUND);
+        if (mThumbMode == THUMB_MODE_FILL) {
+            paint.setStyle(Paint.Style.FILL_AND_STROKE);
+        } else if (mThumbMode == THUMB_MODE_FILL_STROKE) {
+            paint.setStyle(Paint.Style.FILL_AND_STROKE);
+        } else {
+            paint.setStyle(Paint.Style.STROKE);
+        }
+    }
+
+    /**
+     * 获取拖动按钮精灵, 包含拖动按钮本身、填充或描边模式以及阴影, 以拖动按钮中心为准偏移
+     * {@link #getThumbSpriteOffset()} 绘制. 尺寸均为创建样式时按屏幕密度换算后的像素, 因此精灵与屏幕像素一一对应,
+     * 可以在任意线程调用, 并发调用时可能重复生成, 结果相同
+     */
+    Bitmap getThumbSprite() {
+        if (null == mThumbSprite) {
+            ThumbKey key = new ThumbKey(this);
+            Bitmap sprite = sThumbSprites.get(key);
+            if (null == sprite) {
+                sprite = createThumbSprite();
+                sThumbSprites.put(key, sprite);
+            }
+            mThumbSprite = sprite;
+        }
+        return mThumbSprite;
+    }
+
+    // 绘制拖动按钮精灵
+    private Bitmap createThumbSprite() {
+        int size = Math.max(1, (int) (mThumbSpriteOffset * 2));
+        Bitmap sprite = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Paint paint = new Paint();
+        paint.setAntiAlias(true);
+        applyThumbPaint(paint);
+        if (mThumbShadowRadius > 0) {
+            // 软件画布支持 setShadowLayer, 阴影只在生成精灵时计算一次
+            paint.setShadowLayer(mThumbShadowRadius, 0, 0, mThumbShadowColor);
+        }
+        new Canvas(sprite).drawCircle(mThumbSpriteOffset, mThumbSpriteOffset, mThumbRadius, paint);
+        return sprite;
+    }
+
+    float getThumbSpriteOffset() {
+        return mThumbSpriteOffset;
+    }
+
+    //--- 相等判断 ---------------------------------------------------------------------------------
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArcSeekBarStyle)) return false;
+        ArcSeekBarStyle other = (ArcSeekBarStyle) o;
+        return mHashCode == other.mHashCode
+                && mColorInterpolation == other.mColorInterpolation
+                && Float.compare(mArcWidth, other.mArcWidth) == 0
+                && Float.compare(mOpenAngle, other.mOpenAngle) == 0
+                && Float.compare(mRotateAngle, other.mRotateAngle) == 0
+                && mBorderWidth == other.mBorderWidth
+                && mBorderColor == other.mBorderColor
+                && mThumbColor == other.mThumbColor
+                && Float.compare(mThumbWidth, other.mThumbWidth) == 0
+                && Float.compare(mThumbRadius, other.mThumbRadius) == 0
+                && Float.compare(mThumbShadowRadius, other.mThumbShadowRadius) == 0
+                && mThumbShadowColor == other.mThumbShadowColor
+                && mThumbMode == other.mThumbMode
+                && mShadowRadius == other.mShadowRadius
+                && mTickCount == other.mTickCount
+                && mMinorTickCount == other.mMinorTickCount
+                && Float.compare(mTickLength, other.mTickLength) == 0
+                && Float.compare(mTickWidth, other.mTickWidth) == 0
+                && mTickColor == other.mTickColor
+                && Float.compare(mScaleTextSize, other.mScaleTextSize) == 0
+                && mScaleTextColor == other.mScaleTextColor
+                && Arrays.equals(mArcColors, other.mArcColors);
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+
+    private int computeHashCode() {
+        int result = Arrays.hashCode(mArcColors);
+        result = 31 * result + mColorInterpolation;
+        result = 31 * result + Float.floatToIntBits(mArcWidth);
+        result = 31 * result + Float.floatToIntBits(mOpenAngle);
+        result = 31 * result + Float.floatToIntBits(mRotateAngle);
+        result = 31 * result + mBorderWidth;
+        result = 31 * result + mBorderColor;
+        result = 31 * result + mThumbColor;
+        result = 31 * result + Float.floatToIntBits(mThumbWidth);
+        result = 31 * result + Float.floatToIntBits(mThumbRadius);
+        result = 31 * result + Float.floatToIntBits(mThumbShadowRadius);
+        result = 31 * result + mThumbShadowColor;
+        result = 31 * result + mThumbMode;
+        result = 31 * result + mShadowRadius;
+        result = 31 * result + mTickCount;
+        result = 31 * result + mMinorTickCount;
+        result = 31 * result + Float.floatToIntBits(mTickLength);
+        result = 31 * result + Float.floatToIntBits(mTickWidth);
+        result = 31 * result + mTickColor;
+        result = 31 * result + Float.floatToIntBits(mScaleTextSize);
+        result = 31 * result + mScaleTextColor;
+        return result;
+    }
+
+    // 颜色查找表的缓存键
+    private static final class ColorKey {
+        final int[] colors;
+        final int interpolation;
+
+        ColorKey(int[] colors, int interpolation) {
+            this.colors = colors;
+            this.interpolation = interpolation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ColorKey)) return false;
+            ColorKey other = (ColorKey) o;
+            return interpolation == other.interpolation && Arrays.equals(colors, other.colors);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(colors) + interpolation;
+        }
+    }
+
+    // 拖动按钮精灵的缓存键, 只包含影响拖动按钮外观的配置
+    private static final class ThumbKey {
+        final int color;
+        final float width;
+        final float radius;
+        final float shadowRadius;
+        final int shadowColor;
+        final int mode;
+
+        ThumbKey(ArcSeekBarStyle style) {
+            color = style.mThumbColor;
+            width = style.mThumbWidth;
+            radius = style.mThumbRadius;
+            shadowRadius = style.mThumbShadowRadius;
+            shadowColor = style.mThumbShadowColor;
+            mode = style.mThumbMode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ThumbKey)) return false;
+            ThumbKey other = (ThumbKey) o;
+            return color == other.color && Float.compare(width, other.width) == 0
+                    && Float.compare(radius, other.radius) == 0
+                    && Float.compare(shadowRadius, other.shadowRadius) == 0
+                    && shadowColor == other.shadowColor && mode == other.mode;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = color;
+            result = 31 * result + Float.floatToIntBits(width);
+            result = 31 * result + Float.floatToIntBits(radius);
+            result = 31 * result + Float.floatToIntBits(shadowRadius);
+            result = 31 * result + shadowColor;
+            result = 31 * result + mode;
+            return result;
+        }
+    }
+
+    //--- 构建 -------------------------------------------------------------------------------------
+
+    /**
+     * 样式构建器, 尺寸相关的数值单位均为 px
+     */
+    public static final class Builder {
+        private int[] mArcColors;
+        private int mColorInterpolation = ArcColorTable.INTERPOLATION_RGB;
+        private float mArcWidth;
+        private float mOpenAngle = DEFAULT_OPEN_ANGLE;
+        private float mRotateAngle = DEFAULT_ROTATE_ANGLE;
+        private int mBorderWidth;
+        private int mBorderColor = DEFAULT_BORDER_COLOR;
+        private int mThumbColor = DEFAULT_THUMB_COLOR;
+        private float mThumbWidth;
+        private float mThumbRadius;
+        private float mThumbShadowRadius;
+        private int mThumbShadowColor = DEFAULT_THUMB_SHADOW_COLOR;
+        private int mThumbMode = THUMB_MODE_STROKE;
+        private int mShadowRadius;
+        private int mTickCount;
+        private int mMinorTickCount;
+        private float mTickLength;
+        private float mTickWidth;
+        private int mTickColor = DEFAULT_TICK_COLOR;
+        private float mScaleTextSize;
+        private int mScaleTextColor = DEFAULT_SCALE_TEXT_COLOR;
+
+        /**
+         * 使用默认样式创建
+         */
+        public Builder(Context context) {
+            mArcColors = ArcAttributes.getColors(context, R.array.arc_colors_default);
+            mArcWidth = dp2px(context, DEFAULT_ARC_WIDTH);
+            mBorderWidth = dp2px(context, DEFAULT_BORDER_WIDTH);
+            mThumbWidth = dp2px(context, DEFAULT_THUMB_WIDTH);
+            mThumbRadius = dp2px(context, DEFAULT_THUMB_RADIUS);
+            mThumbShadowRadius = dp2px(context, DEFAULT_THUMB_SHADOW_RADIUS);
+            mShadowRadius = dp2px(context, DEFAULT_SHADOW_RADIUS);
+            mTickLength = dp2px(context, DEFAULT_TICK_LENGTH);
+            mTickWidth = dp2px(context, DEFAULT_TICK_WIDTH);
+        }
+
+        /**
+         * 复制已有样式的所有配置
+         */
+        public Builder(ArcSeekBarStyle style) {
+            mArcColors = style.mArcColors;
+            mColorInterpolation = style.mColorInterpolation;
+            mArcWidth = style.mArcWidth;
+            mOpenAngle = style.mOpenAngle;
+            mRotateAngle = style.mRotateAngle;
+            mBorderWidth = style.mBorderWidth;
+            mBorderColor = style.mBorderColor;
+            mThumbColor = style.mThumbColor;
+            mThumbWidth = style.mThumbWidth;
+            mThumbRadius = style.mThumbRadius;
+            mThumbShadowRadius = style.mThumbShadowRadius;
+            mThumbShadowColor = style.mThumbShadowColor;
+            mThumbMode = style.mThumbMode;
+            mShadowRadius = style.mShadowRadius;
+            mTickCount = style.mTickCount;
+            mMinorTickCount = style.mMinorTickCount;
+            mTickLength = style.mTickLength;
+            mTickWidth = style.mTickWidth;
+            mTickColor = style.mTickColor;
+            mScaleTextSize = style.mScaleTextSize;
+            mScaleTextColor = style.mScaleTextColor;
+        }
+
+        public Builder setArcColors(int[] arcColors) {
+            mArcColors = arcColors;
+            return this;
+        }
+
+        public Builder setColorInterpolation(int colorInterpolation) {
+            mColorInterpolation = colorInterpolation;
+            return this;
+        }
+
+        public Builder setArcWidth(float arcWidth) {
+            mArcWidth = arcWidth;
+            return this;
+        }
+
+        public Builder setOpenAngle(float openAngle) {
+            mOpenAngle = openAngle;
+            return this;
+        }
+
+        public Builder setRotateAngle(float rotateAngle) {
+            mRotateAngle = rotateAngle;
+            return this;
+        }
+
+        public Builder setBorderWidth(int borderWidth) {
+            mBorderWidth = borderWidth;
+            return this;
+        }
+
+        public Builder setBorderColor(int borderColor) {
+            mBorderColor = borderColor;
+            return this;
+        }
+
+        public Builder setThumbColor(int thumbColor) {
+            mThumbColor = thumbColor;
+            return this;
+        }
+
+        public Builder setThumbWidth(float thumbWidth) {
+            mThumbWidth = thumbWidth;
+            return this;
+        }
+
+        public Builder setThumbRadius(float thumbRadius) {
+            mThumbRadius = thumbRadius;
+            return this;
+        }
+
+        public Builder setThumbShadowRadius(float thumbShadowRadius) {
+            mThumbShadowRadius = thumbShadowRadius;
+            return this;
+        }
+
+        public Builder setThumbShadowColor(int thumbShadowColor) {
+            mThumbShadowColor = thumbShadowColor;
+            return this;
+        }
+
+        /**
+         * @param thumbMode {@link #THUMB_MODE_STROKE}, {@link #THUMB_MODE_FILL} 或 {@link #THUMB_MODE_FILL_STROKE}
+         */
+        public Builder setThumbMode(int thumbMode) {
+            mThumbMode = thumbMode;
+            return this;
+        }
+
+        public Builder setShadowRadius(int shadowRadius) {
+            mShadowRadius = shadowRadius;
+            return this;
+        }
+
+        /**
+         * 设置刻度, 刻度均匀分布在最小值和最大值之间, 位于圆弧内侧
+         *
+         * @param count      主刻度间隔数量, 主刻度共 count + 1 个, 为 0 时不显示刻度
+         * @param minorCount 相邻主刻度之间的小刻度数量
+         */
+        public Builder setTicks(int count, int minorCount) {
+            mTickCount = count;
+            mMinorTickCount = minorCount;
+            return this;
+        }
+
+        /**
+         * @param tickLength 主刻度长度, 小刻度长度为主刻度的一半
+         */
+        public Builder setTickLength(float tickLength) {
+            mTickLength = tickLength;
+            return this;
+        }
+
+        public Builder setTickWidth(float tickWidth) {
+            mTickWidth = tickWidth;
+            return this;
+        }
+
+        public Builder setTickColor(int tickColor) {
+            mTickColor = tickColor;
+            return this;
+        }
+
+        /**
+         * @param scaleTextSize 主刻度对应数值的文字大小, 为 0 时不显示刻度文字
+         */
+        public Builder setScaleTextSize(float scaleTextSize) {
+            mScaleTextSize = scaleTextSize;
+            return this;
+        }
+
+        public Builder setScaleTextColor(int scaleTextColor) {
+            mScaleTextColor = scaleTextColor;
+            return this;
+        }
+
+        /**
+         * 创建样式, 进程内已经存在相同配置的样式时直接返回已有的实例
+         *
+         * @return 共享的样式
+         */
+        public ArcSeekBarStyle build() {
+            ArcSeekBarStyle key = new ArcSeekBarStyle(this, false);
+            synchronized (sStyles) {
+                ArcSeekBarStyle style = sStyles.get(key);
+                if (null == style) {
+                    style = new ArcSeekBarStyle(this, true);
+                    sStyles.put(style, style);
+                }
+                return style;
+            }
+        }
+    }
+}
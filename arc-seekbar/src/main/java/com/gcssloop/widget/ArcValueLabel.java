@@ -0,0 +1,218 @@
+package com.gcssloop.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import java.text.DecimalFormatSymbols;
+
+/**
+ * 作用: 中心数值文字
+ * 作者: GcsSloop
+ * 摘要: 在圆弧中心显示当前数值, 代替在外部叠加 TextView 并在每次回调中拼接字符串.
+ * 1. 零分配
+ * -  数值直接写入复用的字符数组, 前缀和后缀在创建时转换为字符数组, 更新数值和绘制时都不创建新对象.
+ * 2. 格式
+ * -  显示的是精确数值(double), 可以设置小数位数和千位分组, 小数点和分组符号在创建时按当前语言获取一次.
+ * -  数值按小数位数四舍五入后转换为 long 逐位写入, 不经过 String.format 或 DecimalFormat.
+ * 3. 预先测量
+ * -  前缀、后缀、0-9、负号、小数点和分组符号的宽度在创建时测量一次, 文字宽度直接累加得到, 不需要每次测量.
+ * 4. 刷新
+ * -  由 ArcSeekBar 只在显示的数值或颜色变化时刷新文字所在的区域, 不会触发 requestLayout.
+ */
+final class ArcValueLabel {
+    static final int COLOR_PROGRESS = Color.TRANSPARENT;   // 文字颜色跟随进度颜色
+    static final int MAX_DECIMALS = 6;                      // 最多显示的小数位数
+
+    private static final int MAX_DIGITS = 19;               // long 最多 19 位数字
+    private static final int MAX_CHARS = MAX_DIGITS + 1 + (MAX_DIGITS - 1) / 3 + 1;  // 数字、负号、分组符号和小数点
+    private static final long[] POWERS_OF_TEN = new long[MAX_DECIMALS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DECIMALS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final Paint mPaint;
+    private final int mColor;               // 文字颜色, 为 COLOR_PROGRESS 时跟随进度颜色
+    private final int mDecimals;            // 小数位数
+    private final boolean mGrouping;        // 整数部分是否按千位分组
+    private final char[] mPrefix;
+    private final char[] mSuffix;
+    private final char[] mBuffer;           // 前缀 + 数值 + 后缀
+    private final char mDecimalSeparator;
+    private final char mGroupingSeparator;
+    private final float[] mDigitWidths = new float[10];
+    private final float mMinusWidth;
+    private final float mDecimalSeparatorWidth;
+    private final float mGroupingSeparatorWidth;
+    private final float mMaxDigitWidth;
+    private final float mPrefixWidth;
+    private final float mSuffixWidth;
+    private final float mBaselineOffset;    // 基线相对文字中心的偏移
+    private final float mHalfHeight;
+
+    private double mValue;                  // 当前字符数组中的数值
+    private int mLength = -1;               // 当前字符数组的有效长度, 小于 0 时尚未写入
+    private float mWidth;                   // 当前文字宽度
+
+    /**
+     * @param textSize 文字大小 px
+     * @param color    文字颜色, 为 {@link #COLOR_PROGRESS} 时跟随进度颜色
+     * @param prefix   前缀, 可以为 null
+     * @param suffix   后缀, 可以为 null
+     * @param decimals 小数位数 [0, {@link #MAX_DECIMALS}]
+     * @param grouping 整数部分是否按千位分组
+     */
+    ArcValueLabel(float textSize, int color, String prefix, String suffix, int decimals, boolean grouping) {
+        mColor = color;
+        mDecimals = Math.max(0, Math.min(MAX_DECIMALS, decimals));
+        mGrouping = grouping;
+        mPaint = new Paint();
+        mPaint.setAntiAlias(true);
+        mPaint.setTextSize(textSize);
+        mPrefix = null != prefix ? prefix.toCharArray() : new char[0];
+        mSuffix = null != suffix ? suffix.toCharArray() : new char[0];
+        mBuffer = new char[mPrefix.length + MAX_CHARS + mSuffix.length];
+        System.arraycopy(mPrefix, 0, mBuffer, 0, mPrefix.length);
+
+        float maxDigitWidth = 0;
+        char[] c = new char[1];
+        for (int i = 0; i < 10; i++) {
+            c[0] = (char) ('0' + i);
+            mDigitWidths[i] = mPaint.measureText(c, 0, 1);
+            maxDigitWidth = Math.max(maxDigitWidth, mDigitWidths[i]);
+        }
+        mMaxDigitWidth = maxDigitWidth;
+        mMinusWidth = mPaint.measureText("-");
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mGroupingSeparator = symbols.getGroupingSeparator();
+        c[0] = mDecimalSeparator;
+        mDecimalSeparatorWidth = mPaint.measureText(c, 0, 1);
+        c[0] = mGroupingSeparator;
+        mGroupingSeparatorWidth = mPaint.measureText(c, 0, 1);
+        mPrefixWidth = mPaint.measureText(mPrefix, 0, mPrefix.length);
+        mSuffixWidth = mPaint.measureText(mSuffix, 0, mSuffix.length);
+
+        Paint.FontMetrics metrics = new Paint.FontMetrics();
+        mPaint.getFontMetrics(metrics);
+        mBaselineOffset = -(metrics.ascent + metrics.descent) / 2;
+        mHalfHeight = (metrics.bottom - metrics.top) / 2;
+    }
+
+    // 复制文字大小、前缀、后缀和格式, 只修改颜色
+    ArcValueLabel withColor(int color) {
+        return new ArcValueLabel(mPaint.getTextSize(), color, new String(mPrefix), new String(mSuffix), mDecimals, mGrouping);
+    }
+
+    // 复制文字大小、颜色、前缀和后缀, 只修改格式
+    ArcValueLabel withFormat(int decimals, boolean grouping) {
+        return new ArcValueLabel(mPaint.getTextSize(), mColor, new String(mPrefix), new String(mSuffix), decimals, grouping);
+    }
+
+    int getColor() {
+        return mColor;
+    }
+
+    int getDecimals() {
+        return mDecimals;
+    }
+
+    boolean isGrouping() {
+        return mGrouping;
+    }
+
+    boolean isTrackingColor() {
+        return mColor == COLOR_PROGRESS;
+    }
+
+    /**
+     * 以指定中心绘制数值
+     *
+     * @param value         精确数值
+     * @param progressColor 当前进度颜色, 文字颜色跟随进度时使用
+     */
+    void draw(Canvas canvas, double value, int progressColor, float centerX, float centerY) {
+        if (value != mValue || mLength < 0) {
+            format(value);
+        }
+        mPaint.setColor(isTrackingColor() ? progressColor : mColor);
+        canvas.drawText(mBuffer, 0, mLength, centerX - mWidth / 2, centerY + mBaselineOffset, mPaint);
+    }
+
+    // 将数值写入字符数组(前缀之后), 并累加计算文字宽度
+    private void format(double value) {
+        int pos = mPrefix.length;
+        float width = mPrefixWidth + mSuffixWidth;
+        // 按小数位数四舍五入为整数, 超出 long 范围时限制在范围内
+        double scaled = Math.abs(value) * POWERS_OF_TEN[mDecimals];
+        long v = scaled >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.round(scaled);
+        if (value < 0 && v != 0) {
+            // 舍入为 0 时不显示负号, 避免出现 -0.00
+            mBuffer[pos++] = '-';
+            width += mMinusWidth;
+        }
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) {
+            digits++;
+        }
+        // 整数部分至少一位, 例如 0.05
+        digits = Math.max(digits, mDecimals + 1);
+        int integerDigits = digits - mDecimals;
+        int separators = mGrouping ? (integerDigits - 1) / 3 : 0;
+        int length = digits + separators + (mDecimals > 0 ? 1 : 0);
+        // 从最低位开始向前写入
+        int index = pos + length - 1;
+        for (int i = 0; i < digits; i++) {
+            if (i == mDecimals && mDecimals > 0) {
+                mBuffer[index--] = mDecimalSeparator;
+                width += mDecimalSeparatorWidth;
+            } else if (i > mDecimals && separators > 0 && (i - mDecimals) % 3 == 0) {
+                mBuffer[index--] = mGroupingSeparator;
+                width += mGroupingSeparatorWidth;
+            }
+            int d = (int) (v % 10);
+            mBuffer[index--] = (char) ('0' + d);
+            width += mDigitWidths[d];
+            v /= 10;
+        }
+        pos += length;
+        System.arraycopy(mSuffix, 0, mBuffer, pos, mSuffix.length);
+        mLength = pos + mSuffix.length;
+        mValue = value;
+        mWidth = width;
+    }
+
+    /**
+     * 数值范围内最宽的文字宽度, 用于计算刷新区域
+     */
+    float getMaxWidth(double minValue, double maxValue) {
+        double max = Math.max(Math.abs(minValue), Math.abs(maxValue));
+        long integer = max >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.ceil(max);
+        int integerDigits = 1;
+        for (long t = integer; t >= 10; t /= 10) {
+            integerDigits++;
+        }
+        float width = mPrefixWidth + mSuffixWidth + mMaxDigitWidth * (integerDigits + mDecimals)
+                + (minValue < 0 ? mMinusWidth : 0);
+        if (mDecimals > 0) {
+            width += mDecimalSeparatorWidth;
+        }
+        if (mGrouping) {
+            width += mGroupingSeparatorWidth * ((integerDigits - 1) / 3);
+        }
+        return width;
+    }
+
+    float getHalfHeight() {
+        return mHalfHeight;
+    }
+
+    // 当前文字, 只用于测试
+    String getText() {
+        return new String(mBuffer, 0, mLength);
+    }
+}
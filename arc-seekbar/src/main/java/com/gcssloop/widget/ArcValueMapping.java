@@ -0,0 +1,189 @@
+package com.gcssloop.widget;
+
+/**
+ * 作用: 进度与数值之间的映射曲线
+ * 作者: GcsSloop
+ * 摘要: 默认情况下数值与进度成正比, 音量、频率、缩放等控件需要对数、指数或分段的数值曲线,
+ * 如果在每次拖动和回调时计算 Math.log / Math.pow, 开销会不断累积.
+ * 1. 查找表
+ * -  曲线在创建时一次性计算为 {@link #TABLE_SIZE} 个采样点的查找表, 之后进度到数值只需要一次查表和线性插值,
+ * -  数值到进度(设置数值时)在查找表上二分查找, 同样不会再计算曲线.
+ * 2. 曲线
+ * -  曲线描述进度百分比 [0, 1] 到数值比例 [0, 1] 的单调递增映射, 实际数值为 min + (max - min) * 比例,
+ * -  因此同一条曲线可以用于任意数值范围, 创建时会将两端规范化为 0 和 1.
+ * 3. 不可变
+ * -  创建后不能修改, 可以在多个 View 之间共享, 只使用基本数据类型, 不依赖任何 Android 类.
+ */
+public final class ArcValueMapping {
+    static final int TABLE_SIZE = 1025;     // 查找表采样点数量, 共 1024 段
+
+    /**
+     * 线性映射, 不使用查找表
+     */
+    public static final ArcValueMapping LINEAR = new ArcValueMapping();
+
+    /**
+     * 自定义曲线
+     */
+    public interface Curve {
+        /**
+         * @param present 进度百分比 [0, 1]
+         * @return 数值比例, 需要单调递增
+         */
+        float map(float present);
+    }
+
+    private final float[] mTable;   // 进度到数值比例的查找表, 线性映射时为 null
+
+    private ArcValueMapping() {
+        mTable = null;
+    }
+
+    private ArcValueMapping(Curve curve) {
+        mTable = new float[TABLE_SIZE];
+        float first = curve.map(0);
+        float last = curve.map(1);
+        if (!(last > first)) {
+            throw new IllegalArgumentException("curve must be increasing");
+        }
+        float previous = 0;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            float fraction = (curve.map(i * 1.0f / (TABLE_SIZE - 1)) - first) / (last - first);
+            // 保证单调, 数值到进度的二分查找依赖这一点
+            fraction = Math.max(previous, Math.min(1, fraction));
+            mTable[i] = fraction;
+            previous = fraction;
+        }
+        mTable[TABLE_SIZE - 1] = 1;
+    }
+
+    /**
+     * 使用自定义曲线创建映射, 曲线只在创建时计算
+     */
+    public static ArcValueMapping of(Curve curve) {
+        return new ArcValueMapping(curve);
+    }
+
+    /**
+     * 指数曲线, 数值随进度先慢后快增长, 适用于音量等控件
+     *
+     * @param k 曲线弯曲程度, 越大越弯曲, 接近 0 时为线性, 小于 0 时先快后慢
+     */
+    public static ArcValueMapping exponential(final float k) {
+        if (Math.abs(k) < 1e-4f) return LINEAR;
+        final double scale = Math.expm1(k);
+        return new ArcValueMapping(new Curve() {
+            @Override
+            public float map(float present) {
+                return (float) (Math.expm1(k * present) / scale);
+            }
+        });
+    }
+
+    /**
+     * 对数曲线, 数值随进度先快后慢增长, 是 {@link #exponential(float)} 的反函数
+     *
+     * @param k 曲线弯曲程度, 越大越弯曲, 接近 0 时为线性
+     */
+    public static ArcValueMapping logarithmic(final float k) {
+        if (Math.abs(k) < 1e-4f) return LINEAR;
+        final double scale = Math.expm1(k);
+        return new ArcValueMapping(new Curve() {
+            @Override
+            public float map(float present) {
+                return (float) (Math.log1p(present * scale) / k);
+            }
+        });
+    }
+
+    /**
+     * 等比刻度, 移动相同的距离数值按相同的比例变化, 适用于频率、缩放等控件, 例如 20Hz - 20000Hz
+     *
+     * @param min 最小数值, 必须大于 0
+     * @param max 最大数值, 必须大于最小数值
+     */
+    public static ArcValueMapping logScale(double min, double max) {
+        if (min <= 0 || max <= min) {
+            throw new IllegalArgumentException("logScale requires 0 < min < max");
+        }
+        return exponential((float) Math.log(max / min));
+    }
+
+    /**
+     * 分段线性曲线
+     *
+     * @param presents  分段点的进度百分比, 从 0 开始严格递增到 1
+     * @param fractions 分段点对应的数值比例, 从 0 开始递增到 1
+     */
+    public static ArcValueMapping piecewise(float[] presents, float[] fractions) {
+        if (presents.length < 2 || presents.length != fractions.length
+                || presents[0] != 0 || presents[presents.length - 1] != 1) {
+            throw new IllegalArgumentException("invalid piecewise points");
+        }
+        final float[] xs = presents.clone();
+        final float[] ys = fractions.clone();
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] <= xs[i - 1] || ys[i] < ys[i - 1]) {
+                throw new IllegalArgumentException("piecewise points must be increasing");
+            }
+        }
+        return new ArcValueMapping(new Curve() {
+            @Override
+            public float map(float present) {
+                int i = 1;
+                while (i < xs.length - 1 && present > xs[i]) {
+                    i++;
+                }
+                float t = (present - xs[i - 1]) / (xs[i] - xs[i - 1]);
+                return ys[i - 1] + (ys[i] - ys[i - 1]) * t;
+            }
+        });
+    }
+
+    public boolean isLinear() {
+        return null == mTable;
+    }
+
+    /**
+     * 进度百分比转换为数值比例, 查表并线性插值
+     *
+     * @param present 进度百分比 [0, 1]
+     * @return 数值比例 [0, 1]
+     */
+    public float toFraction(float present) {
+        if (present <= 0) return 0;
+        if (present >= 1) return 1;
+        if (null == mTable) return present;
+        float position = present * (TABLE_SIZE - 1);
+        int index = (int) position;
+        float t = position - index;
+        return mTable[index] + (mTable[index + 1] - mTable[index]) * t;
+    }
+
+    /**
+     * 数值比例转换为进度百分比, 在查找表上二分查找
+     *
+     * @param fraction 数值比例 [0, 1]
+     * @return 进度百分比 [0, 1]
+     */
+    public float toPresent(float fraction) {
+        if (fraction <= 0) return 0;
+        if (fraction >= 1) return 1;
+        if (null == mTable) return fraction;
+        // 查找第一个不小于 fraction 的采样点
+        int low = 1;
+        int high = TABLE_SIZE - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mTable[mid] < fraction) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        float start = mTable[low - 1];
+        float end = mTable[low];
+        float t = end > start ? (fraction - start) / (end - start) : 0;
+        return (low - 1 + t) / (TABLE_SIZE - 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.gcssloop.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作用: 数值范围测试
+ * 作者: GcsSloop
+ * 摘要: ArcGeometry 不依赖 Android 类, 直接在 JVM 上测试数值范围的校验、对齐和精度.
+ */
+public class ArcGeometryTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeRejectsEqualBounds() {
+        new ArcGeometry().setRange(10, 10, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeRejectsReversedBounds() {
+        new ArcGeometry().setRange(10, 5, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeRejectsNaN() {
+        new ArcGeometry().setRange(0, Double.NaN, 1);
+    }
+
+    @Test
+    public void rejectedRangeKeepsPreviousRange() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0.5, 2.5, 0.5);
+        try {
+            geometry.setRange(3, 1, 1);
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertEquals(0.5, geometry.getMinValue(), 0);
+        assertEquals(2.5, geometry.getMaxValue(), 0);
+        assertEquals(0.5, geometry.getStep(), 0);
+    }
+
+    @Test
+    public void boundsAreNotTruncated() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0.25, 0.75, 0);
+        assertEquals(0.25, geometry.getMinValue(), 0);
+        assertEquals(0.75, geometry.getMaxValue(), 0);
+    }
+
+    @Test
+    public void alignValueClampsAndSnapsToStep() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0.5, 10.5, 0.5);
+        assertEquals(0.5, geometry.alignValue(-3), 0);
+        assertEquals(10.5, geometry.alignValue(11), 0);
+        assertEquals(3.5, geometry.alignValue(3.7), 0);
+        assertEquals(3.5, geometry.alignValue(3.5), 0);
+    }
+
+    @Test
+    public void alignValueKeepsLongPrecision() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0, 10000000000L, 1);
+        assertEquals(1234567891L, (long) geometry.alignValue(1234567891L));
+        assertEquals(9999999999L, (long) geometry.alignValue(9999999999L));
+    }
+
+    @Test
+    public void presentRoundTripKeepsEveryStep() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0, 1000, 1);
+        assertRoundTrip(geometry);
+        geometry.setRange(0, 100000, 1);
+        assertRoundTrip(geometry);
+        geometry.setRange(20, 20000, 1);
+        geometry.setMapping(ArcValueMapping.logScale(20, 20000));
+        assertRoundTrip(geometry);
+    }
+
+    @Test
+    public void presentBetweenStepsStillFloors() {
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(0, 1000, 1);
+        assertEquals(250, geometry.presentToExactValue(0.2505f), 0);
+        assertEquals(250, geometry.presentToExactValue(0.2509f), 0);
+    }
+
+    private static void assertRoundTrip(ArcGeometry geometry) {
+        for (long value = (long) geometry.getMinValue(); value <= geometry.getMaxValue(); value++) {
+            assertEquals(value, geometry.presentToExactValue(geometry.valueToPresent((double) value)), 0);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.gcssloop.widget;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Looper;
+import android.widget.FrameLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作用: 后台生成绘制资源测试
+ * 作者: GcsSloop
+ * 摘要: 后台生成成功和失败都会回调, 失败时不会让调用者一直等待结果, 生成完成前离开窗口的 View 也能收到结果.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcLayersAsyncTest {
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+    private ArcLayers mLayers;
+    private Throwable mError;
+
+    private final ArcLayers.Callback mCallback = new ArcLayers.Callback() {
+        @Override
+        public void onLayersReady(ArcLayers layers, Bitmap staticLayer) {
+            mLayers = layers;
+            mLatch.countDown();
+        }
+
+        @Override
+        public void onLayersFailed(Throwable error) {
+            mError = error;
+            mLatch.countDown();
+        }
+    };
+
+    @Test
+    public void readyIsReported() throws InterruptedException {
+        ArcSeekBarStyle style = new ArcSeekBarStyle.Builder(RuntimeEnvironment.application).build();
+        ArcLayers.obtainAsync(style, 317, 317, 0, 0, 0, 0, 0, 100, 1, ArcValueMapping.LINEAR, mCallback);
+        assertTrue(mLatch.await(10, TimeUnit.SECONDS));
+        assertNotNull(mLayers);
+        assertNull(mError);
+    }
+
+    @Test
+    public void failureIsReported() throws InterruptedException {
+        // 没有样式时生成路径会抛出异常
+        ArcLayers.obtainAsync(null, 319, 319, 0, 0, 0, 0, 0, 100, 1, ArcValueMapping.LINEAR, mCallback);
+        assertTrue(mLatch.await(10, TimeUnit.SECONDS));
+        assertNull(mLayers);
+        assertNotNull(mError);
+    }
+
+    @Test
+    public void detachedViewReceivesLayers() throws InterruptedException {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        FrameLayout container = new FrameLayout(activity);
+        activity.setContentView(container);
+        ArcSeekBar seekBar = new LegacyPostSeekBar(activity);
+        seekBar.setAsyncLayoutEnabled(true);
+        container.addView(seekBar);
+        // 结果只在测试线程执行主线程队列时处理, 不在后台线程中直接执行
+        ShadowLooper.pauseMainLooper();
+
+        // 后台线程按顺序生成, 先阻塞后台线程, 保证 View 离开窗口时尚未生成完成
+        final CountDownLatch release = new CountDownLatch(1);
+        ArcSeekBarStyle style = new ArcSeekBarStyle.Builder(RuntimeEnvironment.application).build();
+        ArcLayers.obtainAsync(style, 321, 321, 0, 0, 0, 0, 0, 100, 1, ArcValueMapping.LINEAR, new ArcLayers.Callback() {
+            @Override
+            public void onLayersReady(ArcLayers layers, Bitmap staticLayer) {
+                awaitQuietly(release);
+            }
+
+            @Override
+            public void onLayersFailed(Throwable error) {
+                awaitQuietly(release);
+            }
+        });
+        seekBar.layout(0, 0, 323, 323);
+        assertTrue(seekBar.isLayersPending());
+        container.removeView(seekBar);
+        release.countDown();
+
+        // 排在 View 之后的请求完成时, View 的结果已经发送到主线程
+        ArcLayers.obtainAsync(style, 325, 325, 0, 0, 0, 0, 0, 100, 1, ArcValueMapping.LINEAR, mCallback);
+        assertTrue(mLatch.await(10, TimeUnit.SECONDS));
+        ShadowLooper.idleMainLooper();
+        assertFalse(seekBar.isLayersPending());
+
+        container.addView(seekBar);
+        ShadowLooper.idleMainLooper();
+        assertFalse(seekBar.isLayersPending());
+        seekBar.draw(new Canvas(Bitmap.createBitmap(323, 323, Bitmap.Config.ARGB_8888)));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 模拟 API 24 以下的 View.post: 未添加到窗口时任务保存在调用线程的队列中, 后台线程的队列永远不会执行
+    private static final class LegacyPostSeekBar extends ArcSeekBar {
+        LegacyPostSeekBar(Context context) {
+            super(context);
+        }
+
+        @Override
+        public boolean post(Runnable action) {
+            if (null == getWindowToken() && Looper.myLooper() != Looper.getMainLooper()) {
+                return true;
+            }
+            return super.post(action);
+        }
+    }
+}
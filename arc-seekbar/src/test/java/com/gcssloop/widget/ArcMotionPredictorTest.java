@@ -0,0 +1,131 @@
+package com.gcssloop.widget;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作用: 拖动位置预测测试
+ * 作者: GcsSloop
+ * 摘要: ArcMotionPredictor 不依赖 Android 类, 直接在 JVM 上测试.
+ * 1. 效果
+ * -  回放合成的拖动轨迹, 比较一帧之后的真实位置与预测位置、最新采样之间的误差, 预测的误差必须更小.
+ * 2. 限制
+ * -  外推距离不超过 {@link ArcMotionPredictor#MAX_PREDICTION}, 结果限制在 [0, 1] 内, 跳变超过一半时重新开始.
+ */
+public class ArcMotionPredictorTest {
+    private static final long SAMPLE_INTERVAL = 8;  // 采样间隔 ms, 与 120Hz 触摸屏一致
+    private static final long FRAME = 16;           // 预测提前量 ms
+    private static final int SAMPLES = 120;         // 每条轨迹的采样数量
+    private static final float NOISE = 0.001f;      // 采样噪声幅度(进度百分比)
+
+    // 拖动轨迹, 返回某个时间的真实进度百分比
+    private interface Trace {
+        float valueAt(long time);
+    }
+
+    @Test
+    public void predictionReducesErrorForConstantVelocity() {
+        assertPredictionReducesError(new Trace() {
+            @Override
+            public float valueAt(long time) {
+                return 0.1f + time * 0.0005f;
+            }
+        });
+    }
+
+    @Test
+    public void predictionReducesErrorForAcceleration() {
+        assertPredictionReducesError(new Trace() {
+            @Override
+            public float valueAt(long time) {
+                return 0.05f + time * time * 0.0000006f;
+            }
+        });
+    }
+
+    @Test
+    public void predictionReducesErrorForBackAndForth() {
+        assertPredictionReducesError(new Trace() {
+            @Override
+            public float valueAt(long time) {
+                return 0.5f + 0.3f * (float) Math.sin(time * 2 * Math.PI / 600);
+            }
+        });
+    }
+
+    @Test
+    public void predictionIsClampedToMaxPrediction() {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        predictor.addSample(0, 0.1f);
+        predictor.addSample(1, 0.15f);
+        predictor.addSample(2, 0.2f);
+        // 速度 0.05/ms, 一帧后外推 0.8, 限制为 0.1
+        assertEquals(0.2f + ArcMotionPredictor.MAX_PREDICTION, predictor.predict(2 + FRAME), 1e-6f);
+
+        predictor.reset();
+        predictor.addSample(0, 0.6f);
+        predictor.addSample(1, 0.55f);
+        predictor.addSample(2, 0.5f);
+        assertEquals(0.5f - ArcMotionPredictor.MAX_PREDICTION, predictor.predict(2 + FRAME), 1e-6f);
+    }
+
+    @Test
+    public void predictionIsClampedToRange() {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        predictor.addSample(0, 0.9f);
+        predictor.addSample(8, 0.95f);
+        predictor.addSample(16, 0.98f);
+        assertEquals(1f, predictor.predict(16 + FRAME), 0);
+    }
+
+    @Test
+    public void jumpAcrossOpeningResetsSamples() {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        predictor.addSample(0, 0.05f);
+        predictor.addSample(8, 0.04f);
+        predictor.addSample(16, 0.03f);
+        // 跨越开口跳到另一端, 之前的采样全部丢弃, 只有一个采样时不外推
+        predictor.addSample(24, 0.97f);
+        assertEquals(0.97f, predictor.predict(24 + FRAME), 0);
+        // 之后的速度只由跳变后的采样计算
+        predictor.addSample(32, 0.96f);
+        assertEquals(0.94f, predictor.predict(32 + FRAME), 1e-5f);
+    }
+
+    @Test
+    public void smallChangeDoesNotReset() {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        predictor.addSample(0, 0.25f);
+        predictor.addSample(8, 0.75f);
+        // 变化恰好为一半时不视为跳变, 仍按两个采样外推
+        assertEquals(0.75f + ArcMotionPredictor.MAX_PREDICTION, predictor.predict(8 + FRAME), 1e-6f);
+    }
+
+    @Test
+    public void emptyPredictorReturnsZero() {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        assertEquals(0, predictor.predict(FRAME), 0);
+    }
+
+    // 带噪声回放轨迹, 统计一帧之后的平均误差
+    private static void assertPredictionReducesError(Trace trace) {
+        ArcMotionPredictor predictor = new ArcMotionPredictor();
+        Random random = new Random(42);
+        double predictedError = 0;
+        double lastSampleError = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            long time = i * SAMPLE_INTERVAL;
+            float sample = trace.valueAt(time) + (random.nextFloat() * 2 - 1) * NOISE;
+            predictor.addSample(time, sample);
+            float actual = trace.valueAt(time + FRAME);
+            predictedError += Math.abs(predictor.predict(time + FRAME) - actual);
+            lastSampleError += Math.abs(sample - actual);
+        }
+        assertTrue("prediction error " + predictedError + " >= last sample error " + lastSampleError,
+                predictedError < lastSampleError * 0.5);
+    }
+}
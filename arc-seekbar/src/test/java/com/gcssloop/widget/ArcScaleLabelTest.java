@@ -0,0 +1,61 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * 作用: 刻度文字测试
+ * 作者: GcsSloop
+ * 摘要: 刻度均匀分布在进度上, 刻度文字经过数值曲线计算, 与拖动按钮在该位置时的数值一致, 修改曲线后重新生成静态图层.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcScaleLabelTest {
+
+    @Test
+    public void linearLabelsAreEvenlySpaced() {
+        assertArrayEquals(new String[]{"0.00", "0.25", "0.50", "0.75", "1.00"},
+                ArcLayers.scaleLabels(0, 1, 0, ArcValueMapping.LINEAR, 4));
+    }
+
+    @Test
+    public void logLabelsFollowMapping() {
+        ArcValueMapping mapping = ArcValueMapping.logScale(20, 20000);
+        String[] labels = ArcLayers.scaleLabels(20, 20000, 1, mapping, 2);
+        assertArrayEquals(new String[]{"20", "632", "20000"}, labels);
+
+        // 拖动按钮位于每个刻度时的数值与刻度文字一致
+        ArcGeometry geometry = new ArcGeometry();
+        geometry.setRange(20, 20000, 1);
+        geometry.setMapping(mapping);
+        String[] fine = ArcLayers.scaleLabels(20, 20000, 1, mapping, 10);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(fine[i], String.valueOf((long) geometry.presentToExactValue(i / 10f)));
+        }
+    }
+
+    @Test
+    public void continuousLogLabelsKeepSignificantDigits() {
+        String[] labels = ArcLayers.scaleLabels(0.01, 1, 0, ArcValueMapping.logScale(0.01, 1), 2);
+        assertArrayEquals(new String[]{"0.010", "0.100", "1.000"}, labels);
+    }
+
+    @Test
+    public void mappingIsPartOfLayerKey() {
+        ArcSeekBarStyle style = new ArcSeekBarStyle.Builder(RuntimeEnvironment.application)
+                .setTicks(4, 0).setScaleTextSize(24).build();
+        ArcLayers layers = ArcLayers.obtain(style, 331, 331, 0, 0, 0, 0);
+        Bitmap linear = layers.getStaticLayer(style, 20, 20000, 1, ArcValueMapping.LINEAR);
+        Bitmap log = layers.getStaticLayer(style, 20, 20000, 1, ArcValueMapping.logScale(20, 20000));
+        assertNotSame(linear, log);
+    }
+}
@@ -0,0 +1,162 @@
+package com.gcssloop.widget;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 作用: 触摸流程零分配测试
+ * 作者: GcsSloop
+ * 摘要: 发送按下、大量带历史采样的 MOVE 和抬起事件, 预热之后统计当前线程分配的内存, 必须为 0.
+ * 1. 事件
+ * -  所有 MotionEvent 在统计之前创建, 统计期间只读取, 采样之间的进度差小于防突变的限制, 每个采样都会被接受.
+ * 2. 框架差异
+ * -  Robolectric 自带的 View 和 MotionEvent 实现本身会分配内存, 由 {@link ShadowTouchView} 和
+ * -  {@link ShadowBatchedMotionEvent} 代替, 统计结果只包含 ArcSeekBar 自身的分配.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, shadows = {ShadowBatchedMotionEvent.class, ShadowTouchView.class})
+public class ArcSeekBarAllocationTest {
+    private static final int SIZE = 600;                // View 宽高 px
+    private static final int MOVE_EVENTS = 480;         // 每次拖动的 MOVE 事件数量
+    private static final int HISTORY_SIZE = 4;          // 每个 MOVE 事件的历史采样数量
+    private static final int WARM_UP_DRAGS = 2;         // 统计之前的预热拖动次数
+    private static final int MEASURED_DRAGS = 3;        // 统计内存分配的拖动次数
+    private static final float SAMPLE_STEP = 0.004f;    // 相邻采样的进度差
+
+    private ArcSeekBar mSeekBar;
+    private int mCallbacks;
+
+    @Before
+    public void setUp() {
+        mSeekBar = new ArcSeekBar(RuntimeEnvironment.application);
+        mSeekBar.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        mSeekBar.layout(0, 0, SIZE, SIZE);
+        mSeekBar.setOnProgressChangeListener(new ArcSeekBar.OnProgressChangeListener() {
+            @Override
+            public void onProgressChanged(ArcSeekBar seekBar, int progress, boolean isUser) {
+                mCallbacks++;
+            }
+
+            @Override
+            public void onStartTrackingTouch(ArcSeekBar seekBar) {
+            }
+
+            @Override
+            public void onStopTrackingTouch(ArcSeekBar seekBar) {
+            }
+        });
+    }
+
+    @Test
+    public void dragDoesNotAllocate() {
+        assertDragDoesNotAllocate();
+    }
+
+    @Test
+    public void dragWithPredictionDoesNotAllocate() {
+        mSeekBar.setTouchPredictionEnabled(true);
+        assertDragDoesNotAllocate();
+    }
+
+    @Test
+    public void dragWithValueLabelDoesNotAllocate() {
+        mSeekBar.setValueLabel(48, "POWER ", " %");
+        assertDragDoesNotAllocate();
+    }
+
+    @Test
+    public void tapDoesNotAllocate() {
+        MotionEvent[] warmUp = new TouchScript(mSeekBar, 0).down(0.5f).up(0.5f).build();
+        MotionEvent[] taps = new TouchScript(mSeekBar, 1000).down(0.25f).up(0.25f).down(0.75f).up(0.75f).build();
+        TouchScript.replay(mSeekBar, warmUp);
+        int callbacks = mCallbacks;
+
+        long start = allocatedBytes();
+        TouchScript.replay(mSeekBar, taps);
+        long allocated = allocatedBytes() - start;
+
+        assertEquals(75, mSeekBar.getProgress());
+        assertEquals(callbacks + 2, mCallbacks);
+        assertEquals("bytes allocated by taps", 0, allocated);
+    }
+
+    @Test
+    public void rotateDoesNotAllocate() {
+        ArcSeekBarStyle style = mSeekBar.getStyle();
+        for (int angle = 0; angle < 360; angle++) {
+            mSeekBar.setRotateAngle(angle);
+        }
+
+        long start = allocatedBytes();
+        for (int angle = 0; angle < 360; angle++) {
+            mSeekBar.setRotateAngle(angle + 0.5f);
+        }
+        long allocated = allocatedBytes() - start;
+
+        assertEquals("bytes allocated by rotation", 0, allocated);
+        // 旋转角度在需要时才合并到样式中
+        assertEquals(359.5f, mSeekBar.getStyle().getRotateAngle(), 0);
+        assertEquals(style.getArcWidth(), mSeekBar.getStyle().getArcWidth(), 0);
+    }
+
+    // 预热几次完整的拖动, 让类加载和延迟初始化全部完成, 再统计之后几次拖动的内存分配,
+    // 运行环境偶尔会在测试线程上分配内存, 触摸流程本身的分配每次拖动都会出现, 因此取最小值
+    private void assertDragDoesNotAllocate() {
+        MotionEvent[][] drags = new MotionEvent[WARM_UP_DRAGS + MEASURED_DRAGS][];
+        for (int i = 0; i < drags.length; i++) {
+            drags[i] = createDrag(i * 100000);
+        }
+        for (int i = 0; i < WARM_UP_DRAGS; i++) {
+            TouchScript.replay(mSeekBar, drags[i]);
+            mSeekBar.setProgress(0);
+        }
+
+        long allocated = Long.MAX_VALUE;
+        for (int i = WARM_UP_DRAGS; i < drags.length; i++) {
+            long start = allocatedBytes();
+            TouchScript.replay(mSeekBar, drags[i]);
+            allocated = Math.min(allocated, allocatedBytes() - start);
+            // 拖动结束在 40% 的位置
+            assertEquals(40, mSeekBar.getProgress(), 1);
+            mSeekBar.setProgress(0);
+        }
+        assertEquals("bytes allocated by drag", 0, allocated);
+    }
+
+    // 从起点按下, 沿圆弧来回拖动, 最后在 40% 的位置抬起
+    private MotionEvent[] createDrag(long startTime) {
+        TouchScript script = new TouchScript(mSeekBar, startTime).down(0);
+        float[] samples = new float[HISTORY_SIZE + 1];
+        int index = 0;
+        for (int i = 0; i < MOVE_EVENTS; i++) {
+            for (int j = 0; j < samples.length; j++) {
+                samples[j] = triangle(++index * SAMPLE_STEP);
+            }
+            script.move(samples);
+        }
+        return script.up(samples[HISTORY_SIZE]).build();
+    }
+
+    // 在 [0, 1] 之间往返
+    private static float triangle(float t) {
+        float phase = t % 2;
+        return phase <= 1 ? phase : 2 - phase;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gcssloop.widget;
+
+import android.app.Activity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * 作用: 进度动画测试
+ * 作者: GcsSloop
+ * 摘要: 动画结束时直接使用目标数值, 结果与不使用动画时一致, 目标与当前数值相同时不安排动画.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcSeekBarAnimationTest {
+    private ArcSeekBar mSeekBar;
+    private int mCallbacks;
+    private int mLastProgress = -1;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mSeekBar = new ArcSeekBar(activity);
+        activity.setContentView(mSeekBar);
+        mSeekBar.setOnProgressChangeListener(new ArcSeekBar.OnProgressChangeListener() {
+            @Override
+            public void onProgressChanged(ArcSeekBar seekBar, int progress, boolean isUser) {
+                mCallbacks++;
+                mLastProgress = progress;
+            }
+
+            @Override
+            public void onStartTrackingTouch(ArcSeekBar seekBar) {
+            }
+
+            @Override
+            public void onStopTrackingTouch(ArcSeekBar seekBar) {
+            }
+        });
+        // 动画帧按帧间隔在推进时钟时执行, 否则帧回调会在时钟不变的情况下反复执行
+        ShadowChoreographer.setPostCallbackDelay(16);
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+    }
+
+    @Test
+    public void animationEndsAtExactValue() {
+        // 相邻数值之间的进度差小于 float 精度, 只能通过目标数值准确结束
+        mSeekBar.setValueRange(0L, 2000000000L, 1L);
+        mSeekBar.setProgress(1234567891, true);
+        ShadowLooper.idleMainLooper(1000);
+        assertEquals(1234567891, mSeekBar.getProgress());
+        assertEquals(1234567891, mLastProgress);
+    }
+
+    @Test
+    public void animatedAndImmediateResultsMatch() {
+        mSeekBar.setValueRange(0L, 1000L, 1L);
+        mSeekBar.setProgress(251, true);
+        ShadowLooper.idleMainLooper(1000);
+        assertEquals(251, mSeekBar.getProgress());
+        assertEquals(251, mLastProgress);
+    }
+
+    @Test
+    public void detachJumpsToExactValue() {
+        mSeekBar.setValueRange(0L, 2000000000L, 1L);
+        mSeekBar.setProgress(1234567891, true);
+        ((android.view.ViewGroup) mSeekBar.getParent()).removeView(mSeekBar);
+        assertEquals(1234567891, mSeekBar.getProgress());
+        assertEquals(1234567891, mLastProgress);
+    }
+
+    @Test
+    public void sameTargetSchedulesNothing() {
+        mSeekBar.setProgress(30);
+        int callbacks = mCallbacks;
+        mSeekBar.setProgress(30, true);
+        assertFalse(ShadowLooper.getShadowMainLooper().getScheduler().areAnyRunnable());
+        ShadowLooper.idleMainLooper(1000);
+        assertEquals(callbacks, mCallbacks);
+        assertEquals(30, mSeekBar.getProgress());
+    }
+}
@@ -0,0 +1,181 @@
+package com.gcssloop.widget;
+
+import android.graphics.Color;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作用: 绘制和刷新预算测试
+ * 作者: GcsSloop
+ * 摘要: 检查每帧的绘制调用、每个事件的刷新请求和每次配置变化的几何重建次数.
+ * 1. 绘制调用
+ * -  在 {@link RecordingCanvas} 上绘制一帧, 统计实际发生的绘制操作, 每帧只绘制缓存的位图, 刻度不增加绘制调用.
+ * 2. 刷新请求
+ * -  由 {@link CountingSeekBar} 统计所有刷新请求, 带历史采样的 MOVE 事件只请求一次刷新.
+ * 3. 几何重建
+ * -  共享资源在进程内缓存, 每个测试使用不同的尺寸, 避免受其它测试的缓存影响.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, shadows = {ShadowBatchedMotionEvent.class})
+public class ArcSeekBarBudgetTest {
+    private static final int MAX_FRAME_BITMAPS = 3;     // 阴影遮罩、静态图层和拖动按钮精灵
+
+    private static int sNextSize = 400;                 // 每次布局使用新的尺寸
+
+    private CountingSeekBar mSeekBar;
+    private RecordingCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mSeekBar = new CountingSeekBar(RuntimeEnvironment.application);
+        mSeekBar.setMetricsEnabled(true);
+        mCanvas = new RecordingCanvas();
+    }
+
+    //--- 绘制调用 ---------------------------------------------------------------------------------
+
+    @Test
+    public void frameDrawsOnlyCachedBitmaps() {
+        layout(mSeekBar, nextSize());
+        drawFrame();
+        // 至少绘制静态图层和拖动按钮精灵
+        assertTrue("bitmaps per frame: " + mCanvas.getBitmaps(),
+                mCanvas.getBitmaps() >= 2 && mCanvas.getBitmaps() <= MAX_FRAME_BITMAPS);
+        assertEquals(0, mCanvas.getShapes());
+        assertEquals(0, mCanvas.getTexts());
+    }
+
+    @Test
+    public void ticksAndScaleLabelsDoNotAddDrawCalls() {
+        layout(mSeekBar, nextSize());
+        drawFrame();
+        int drawCalls = mCanvas.getDrawCalls();
+
+        mSeekBar.setTicks(10, 4);
+        mSeekBar.setScaleText(24, Color.GRAY);
+        drawFrame();
+        assertEquals(drawCalls, mCanvas.getDrawCalls());
+    }
+
+    @Test
+    public void valueLabelAddsOneText() {
+        layout(mSeekBar, nextSize());
+        drawFrame();
+        int drawCalls = mCanvas.getDrawCalls();
+
+        mSeekBar.setValueLabel(48, "POWER ", " %");
+        drawFrame();
+        assertEquals(1, mCanvas.getTexts());
+        assertEquals(drawCalls + 1, mCanvas.getDrawCalls());
+    }
+
+    //--- 刷新请求 ---------------------------------------------------------------------------------
+
+    @Test
+    public void moveEventInvalidatesOnce() {
+        mSeekBar.setValueLabel(48, "POWER ", " %");
+        mSeekBar.setTouchPredictionEnabled(true);
+        layout(mSeekBar, nextSize());
+        TouchScript script = new TouchScript(mSeekBar, 0).down(0);
+        MotionEvent[] down = script.build();
+        TouchScript.replay(mSeekBar, down);
+
+        int events = 40;
+        for (int i = 0; i < events; i++) {
+            float present = i * 0.02f;
+            MotionEvent[] move = new TouchScript(mSeekBar, script.getTime()).move(
+                    present + 0.004f, present + 0.008f, present + 0.012f, present + 0.016f, present + 0.02f).build();
+            mSeekBar.resetInvalidations();
+            TouchScript.replay(mSeekBar, move);
+            assertEquals("invalidations for move " + i, 1, mSeekBar.getInvalidations());
+        }
+        assertEquals(80, mSeekBar.getProgress(), 1);
+    }
+
+    @Test
+    public void setProgressInvalidatesThumbAndLabel() {
+        layout(mSeekBar, nextSize());
+        mSeekBar.resetInvalidations();
+        mSeekBar.setProgress(30);
+        assertEquals(1, mSeekBar.getInvalidations());
+
+        mSeekBar.setValueLabel(48, "POWER ", " %");
+        mSeekBar.resetInvalidations();
+        mSeekBar.setProgress(60);
+        assertEquals(2, mSeekBar.getInvalidations());
+
+        // 进度没有变化时不刷新
+        mSeekBar.resetInvalidations();
+        mSeekBar.setProgress(60);
+        assertEquals(0, mSeekBar.getInvalidations());
+    }
+
+    @Test
+    public void metricsCountEveryUiThreadInvalidation() {
+        mSeekBar.setValueLabel(48, "POWER ", " %");
+        layout(mSeekBar, nextSize());
+        mSeekBar.getMetrics().reset();
+        mSeekBar.resetInvalidations();
+        for (int i = 0; i <= 100; i += 5) {
+            mSeekBar.setProgress(i);
+        }
+        assertEquals(mSeekBar.getInvalidations(), mSeekBar.getMetrics().snapshot().invalidations);
+    }
+
+    //--- 几何重建 ---------------------------------------------------------------------------------
+
+    @Test
+    public void newSizeRebuildsOnce() {
+        layout(mSeekBar, nextSize());
+        assertEquals(1, mSeekBar.getMetrics().snapshot().geometryRebuilds);
+    }
+
+    @Test
+    public void cachedSizeDoesNotRebuild() {
+        int size = nextSize();
+        layout(new ArcSeekBar(RuntimeEnvironment.application), size);
+        layout(mSeekBar, size);
+        assertEquals(0, mSeekBar.getMetrics().snapshot().geometryRebuilds);
+    }
+
+    @Test
+    public void appearanceChangesRebuildOnlyForLayout() {
+        layout(mSeekBar, nextSize());
+        mSeekBar.getMetrics().reset();
+
+        mSeekBar.setRotateAngle(45);
+        mSeekBar.setThumbColor(Color.RED);
+        mSeekBar.setArcColors(new int[]{Color.RED, Color.BLUE});
+        assertEquals(0, mSeekBar.getMetrics().snapshot().geometryRebuilds);
+
+        mSeekBar.setArcWidth(mSeekBar.getStyle().getArcWidth() + 3);
+        assertEquals(1, mSeekBar.getMetrics().snapshot().geometryRebuilds);
+    }
+
+    //--- 工具 -------------------------------------------------------------------------------------
+
+    private void drawFrame() {
+        mCanvas.reset();
+        mSeekBar.onDraw(mCanvas);
+    }
+
+    private static int nextSize() {
+        return sNextSize++;
+    }
+
+    private static void layout(ArcSeekBar seekBar, int size) {
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, size, size);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gcssloop.widget;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 作用: 数值范围测试
+ * 作者: GcsSloop
+ * 摘要: 修改最大值和最小值时保持另一端和步长, 整数进度按实际范围限制, long 数值不受进度百分比精度的限制,
+ * 刻度文字按数值范围选择小数位数.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcSeekBarRangeTest {
+    private ArcSeekBar mSeekBar;
+
+    @Before
+    public void setUp() {
+        mSeekBar = new ArcSeekBar(RuntimeEnvironment.application);
+    }
+
+    @Test
+    public void setMaxValueKeepsMinAndStep() {
+        mSeekBar.setValueRange(0.5f, 10f, 0.5f);
+        mSeekBar.setMaxValue(20);
+        mSeekBar.setValue(3.7f);
+        assertEquals(3.5f, mSeekBar.getValue(), 0);
+        mSeekBar.setValue(0f);
+        assertEquals(0.5f, mSeekBar.getValue(), 0);
+    }
+
+    @Test
+    public void setMinValueKeepsMaxAndStep() {
+        mSeekBar.setValueRange(0f, 10.5f, 0.5f);
+        mSeekBar.setMinValue(2);
+        mSeekBar.setValue(100f);
+        assertEquals(10.5f, mSeekBar.getValue(), 0);
+        mSeekBar.setValue(4.2f);
+        assertEquals(4f, mSeekBar.getValue(), 0);
+    }
+
+    @Test
+    public void invalidRangeThrowsAndKeepsRange() {
+        mSeekBar.setMaxValue(50);
+        mSeekBar.setProgress(30);
+        try {
+            mSeekBar.setRange(50, 50);
+            fail("min equal to max accepted");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            mSeekBar.setValueRange(5f, 1f, 0f);
+            fail("reversed range accepted");
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertEquals(30, mSeekBar.getProgress());
+        mSeekBar.setProgress(80);
+        assertEquals(50, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void singleBoundsApplyInAnyOrder() {
+        // 默认范围为 [0, 100], 先设置最小值时中间状态无效, 不抛出异常
+        mSeekBar.setMinValue(150);
+        mSeekBar.setMaxValue(300);
+        mSeekBar.setProgress(0);
+        assertEquals(150, mSeekBar.getProgress());
+        mSeekBar.setProgress(400);
+        assertEquals(300, mSeekBar.getProgress());
+
+        mSeekBar.setMaxValue(20);
+        mSeekBar.setMinValue(10);
+        mSeekBar.setProgress(0);
+        assertEquals(10, mSeekBar.getProgress());
+        mSeekBar.setProgress(400);
+        assertEquals(20, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void pendingBoundDoesNotChangeRange() {
+        mSeekBar.setProgress(40);
+        mSeekBar.setMinValue(150);
+        assertEquals(40, mSeekBar.getProgress());
+        mSeekBar.setProgress(400);
+        assertEquals(100, mSeekBar.getProgress());
+    }
+
+    @Test
+    public void setProgressClampsToExactBounds() {
+        mSeekBar.setValueRange(0.5f, 10.5f, 0f);
+        mSeekBar.setProgress(11);
+        assertEquals(10.5f, mSeekBar.getValue(), 0);
+        mSeekBar.setProgress(0);
+        assertEquals(0.5f, mSeekBar.getValue(), 0);
+    }
+
+    @Test
+    public void longValueKeepsPrecision() {
+        mSeekBar.setValueRange(0L, 10000000000L, 1L);
+        mSeekBar.setValue(1234567891L);
+        assertEquals(1234567891L, mSeekBar.getLongValue());
+        mSeekBar.setValue(1234567892L);
+        assertEquals(1234567892L, mSeekBar.getLongValue());
+    }
+
+    @Test
+    public void scaleLabelDecimalsFollowRange() {
+        assertEquals(0, ArcLayers.scaleDecimals(0, 100, 10));
+        assertEquals(0, ArcLayers.scaleDecimals(0, 10000000000.0, 4));
+        assertEquals(1, ArcLayers.scaleDecimals(0, 1, 10));
+        assertEquals(2, ArcLayers.scaleDecimals(0, 1, 4));
+        assertEquals(1, ArcLayers.scaleDecimals(0.5, 10.5, 5));
+    }
+}
@@ -0,0 +1,95 @@
+package com.gcssloop.widget;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 作用: 非 UI 线程设置进度测试
+ * 作者: GcsSloop
+ * 摘要: 在后台线程设置进度时, 进度、动画状态、性能指标和回调都只在 UI 线程修改.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcSeekBarThreadTest {
+    private ArcSeekBar mSeekBar;
+    private Thread mCallbackThread;
+    private int mCallbackProgress = -1;
+
+    @Before
+    public void setUp() {
+        mSeekBar = new ArcSeekBar(RuntimeEnvironment.application);
+        mSeekBar.setMetricsEnabled(true);
+        mSeekBar.setOnProgressChangeListener(new ArcSeekBar.OnProgressChangeListener() {
+            @Override
+            public void onProgressChanged(ArcSeekBar seekBar, int progress, boolean isUser) {
+                mCallbackThread = Thread.currentThread();
+                mCallbackProgress = progress;
+            }
+
+            @Override
+            public void onStartTrackingTouch(ArcSeekBar seekBar) {
+            }
+
+            @Override
+            public void onStopTrackingTouch(ArcSeekBar seekBar) {
+            }
+        });
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @Test
+    public void setProgressFromBackgroundThreadRunsOnUiThread() throws InterruptedException {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                mSeekBar.setProgress(30);
+                mSeekBar.setProgress(60);
+            }
+        });
+        // 切换到 UI 线程之前不修改任何状态
+        assertEquals(0, mSeekBar.getProgress());
+        assertEquals(-1, mCallbackProgress);
+
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(60, mSeekBar.getProgress());
+        assertEquals(60, mCallbackProgress);
+        assertSame(Thread.currentThread(), mCallbackThread);
+        assertEquals(2, mSeekBar.getMetrics().snapshot().callbacks);
+    }
+
+    @Test
+    public void setValueFromBackgroundThreadRunsOnUiThread() throws InterruptedException {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                mSeekBar.setValue(45L);
+            }
+        });
+        assertEquals(0, mSeekBar.getProgress());
+
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(45, mSeekBar.getProgress());
+        assertSame(Thread.currentThread(), mCallbackThread);
+    }
+
+    @Test
+    public void setProgressOnUiThreadIsImmediate() {
+        mSeekBar.setProgress(30);
+        assertEquals(30, mSeekBar.getProgress());
+        assertEquals(30, mCallbackProgress);
+    }
+
+    private static void runInBackground(Runnable action) throws InterruptedException {
+        Thread thread = new Thread(action);
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,120 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 作用: 中心数值格式测试
+ * 作者: GcsSloop
+ * 摘要: 中心数值显示精确数值, 按小数位数四舍五入并可以按千位分组, 格式化时不创建新对象.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ArcValueLabelTest {
+    private Locale mLocale;
+    private Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        mCanvas = new Canvas(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(mLocale);
+    }
+
+    @Test
+    public void formatsDecimalsAndGrouping() {
+        assertEquals("1234567", format(1234567, 0, false));
+        assertEquals("1,234,567", format(1234567, 0, true));
+        assertEquals("1,234.50", format(1234.5, 2, true));
+        assertEquals("0.05", format(0.05, 2, false));
+        assertEquals("-12.3", format(-12.34, 1, false));
+        assertEquals("100", format(99.6, 0, false));
+        assertEquals("999", format(999, 0, true));
+    }
+
+    @Test
+    public void roundingToZeroHasNoMinus() {
+        assertEquals("0.00", format(-0.001, 2, false));
+        assertEquals("0", format(-0.4, 0, false));
+    }
+
+    @Test
+    public void prefixAndSuffixSurroundValue() {
+        ArcValueLabel label = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, "POWER ", " %", 1, false);
+        label.draw(mCanvas, 42.25, 0, 5, 5);
+        assertEquals("POWER 42.3 %", label.getText());
+    }
+
+    @Test
+    public void longValueIsExact() {
+        assertEquals("123,456,789,012,345", format(123456789012345L, 0, true));
+        assertEquals("1234567891", format(1234567891L, 0, false));
+    }
+
+    @Test
+    public void seekBarLongValueIsExact() {
+        ArcSeekBar seekBar = new ArcSeekBar(RuntimeEnvironment.application);
+        seekBar.setValueRange(0L, 10000000000L, 1L);
+        seekBar.setValue(1234567891L);
+        ArcValueLabel label = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, null, null, 0, true);
+        label.draw(mCanvas, seekBar.getLongValue(), 0, 5, 5);
+        assertEquals("1,234,567,891", label.getText());
+    }
+
+    @Test
+    public void maxWidthCoversWidestText() {
+        ArcValueLabel label = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, null, null, 2, true);
+        float max = label.getMaxWidth(-1000000, 1000000);
+        ArcValueLabel plain = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, null, null, 0, false);
+        assertTrue(max > plain.getMaxWidth(-1000000, 1000000));
+    }
+
+    @Test
+    public void formatDoesNotAllocate() {
+        ArcValueLabel label = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, "$", null, 2, true);
+        drawValues(label);
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = allocatedBytes();
+            drawValues(label);
+            allocated = Math.min(allocated, allocatedBytes() - start);
+        }
+        assertEquals("bytes allocated by format", 0, allocated);
+    }
+
+    private void drawValues(ArcValueLabel label) {
+        for (int i = -1000; i < 1000; i++) {
+            label.draw(mCanvas, i * 1234.567, 0, 5, 5);
+        }
+    }
+
+    private String format(double value, int decimals, boolean grouping) {
+        ArcValueLabel label = new ArcValueLabel(48, ArcValueLabel.COLOR_PROGRESS, null, null, decimals, grouping);
+        label.draw(mCanvas, value, 0, 5, 5);
+        return label.getText();
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.gcssloop.widget;
+
+import android.content.Context;
+
+/**
+ * 作用: 统计刷新请求的 ArcSeekBar
+ * 作者: GcsSloop
+ * 摘要: 统计所有 invalidate 和 postInvalidate 调用, 与性能指标中的计数不同, 包含整体刷新和非 UI 线程的刷新请求.
+ */
+class CountingSeekBar extends ArcSeekBar {
+    private int mInvalidations;
+
+    CountingSeekBar(Context context) {
+        super(context);
+    }
+
+    int getInvalidations() {
+        return mInvalidations;
+    }
+
+    void resetInvalidations() {
+        mInvalidations = 0;
+    }
+
+    @Override
+    public void invalidate() {
+        mInvalidations++;
+        super.invalidate();
+    }
+
+    @Override
+    public void invalidate(int l, int t, int r, int b) {
+        mInvalidations++;
+        super.invalidate(l, t, r, b);
+    }
+
+    @Override
+    public void postInvalidate() {
+        mInvalidations++;
+        super.postInvalidate();
+    }
+
+    @Override
+    public void postInvalidate(int left, int top, int right, int bottom) {
+        mInvalidations++;
+        super.postInvalidate(left, top, right, bottom);
+    }
+}
@@ -0,0 +1,142 @@
+package com.gcssloop.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * 作用: 记录绘制操作的画布
+ * 作者: GcsSloop
+ * 摘要: 只统计绘制操作的次数, 不实际绘制, 用于检查每一帧的绘制调用预算.
+ * 1. 统计
+ * -  位图、文字和其它图形(路径、圆弧、线段、圆、矩形等)分别计数, {@link #getDrawCalls()} 为总数.
+ * 2. 变换
+ * -  save、restore、rotate 等变换不计数, 交给框架实现处理.
+ */
+class RecordingCanvas extends Canvas {
+    private int mBitmaps;
+    private int mTexts;
+    private int mShapes;
+
+    int getBitmaps() {
+        return mBitmaps;
+    }
+
+    int getTexts() {
+        return mTexts;
+    }
+
+    int getShapes() {
+        return mShapes;
+    }
+
+    int getDrawCalls() {
+        return mBitmaps + mTexts + mShapes;
+    }
+
+    void reset() {
+        mBitmaps = 0;
+        mTexts = 0;
+        mShapes = 0;
+    }
+
+    //--- 位图 -------------------------------------------------------------------------------------
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mBitmaps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        mBitmaps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        mBitmaps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        mBitmaps++;
+    }
+
+    //--- 文字 -------------------------------------------------------------------------------------
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        mTexts++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mTexts++;
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        mTexts++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        mTexts++;
+    }
+
+    //--- 图形 -------------------------------------------------------------------------------------
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawPaint(Paint paint) {
+        mShapes++;
+    }
+
+    @Override
+    public void drawColor(int color) {
+        mShapes++;
+    }
+}
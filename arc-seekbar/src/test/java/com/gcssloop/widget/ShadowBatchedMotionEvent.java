@@ -0,0 +1,106 @@
+package com.gcssloop.widget;
+
+import android.view.MotionEvent;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadow.api.Shadow;
+
+/**
+ * 作用: 支持历史采样的 MotionEvent
+ * 作者: GcsSloop
+ * 摘要: Robolectric 自带的 ShadowMotionEvent 不支持 addBatch, getHistorySize 始终为 0, 无法测试批量采样的处理.
+ * 1. 采样
+ * -  采样保存在固定大小的数组中, 最后一个采样为当前位置, 之前的采样为历史采样, 与设备上的 MotionEvent 一致.
+ * 2. 零分配
+ * -  读取采样时不创建新对象, 可以用于内存分配测试.
+ * 3. 范围
+ * -  只实现 ArcSeekBar 用到的单指方法.
+ */
+@Implements(MotionEvent.class)
+public class ShadowBatchedMotionEvent {
+    static final int MAX_SAMPLES = 16;      // 每个事件最多的采样数量(包含当前采样)
+
+    private int mAction;
+    private long mDownTime;
+    private final long[] mTimes = new long[MAX_SAMPLES];
+    private final float[] mXs = new float[MAX_SAMPLES];
+    private final float[] mYs = new float[MAX_SAMPLES];
+    private int mCount;     // 采样数量
+
+    @Implementation
+    public static MotionEvent obtain(long downTime, long eventTime, int action, float x, float y, int metaState) {
+        MotionEvent event = Shadow.newInstanceOf(MotionEvent.class);
+        ShadowBatchedMotionEvent shadow = Shadow.extract(event);
+        shadow.mAction = action;
+        shadow.mDownTime = downTime;
+        shadow.addBatch(eventTime, x, y, 1, 1, metaState);
+        return event;
+    }
+
+    @Implementation
+    public void addBatch(long eventTime, float x, float y, float pressure, float size, int metaState) {
+        if (mCount == MAX_SAMPLES) {
+            throw new IllegalStateException("too many samples");
+        }
+        mTimes[mCount] = eventTime;
+        mXs[mCount] = x;
+        mYs[mCount] = y;
+        mCount++;
+    }
+
+    @Implementation
+    public int getAction() {
+        return mAction;
+    }
+
+    @Implementation
+    public int getActionMasked() {
+        return mAction & MotionEvent.ACTION_MASK;
+    }
+
+    @Implementation
+    public int getPointerCount() {
+        return 1;
+    }
+
+    @Implementation
+    public long getDownTime() {
+        return mDownTime;
+    }
+
+    @Implementation
+    public long getEventTime() {
+        return mTimes[mCount - 1];
+    }
+
+    @Implementation
+    public float getX() {
+        return mXs[mCount - 1];
+    }
+
+    @Implementation
+    public float getY() {
+        return mYs[mCount - 1];
+    }
+
+    @Implementation
+    public int getHistorySize() {
+        return mCount - 1;
+    }
+
+    @Implementation
+    public long getHistoricalEventTime(int pos) {
+        return mTimes[pos];
+    }
+
+    @Implementation
+    public float getHistoricalX(int pos) {
+        return mXs[pos];
+    }
+
+    @Implementation
+    public float getHistoricalY(int pos) {
+        return mYs[pos];
+    }
+}
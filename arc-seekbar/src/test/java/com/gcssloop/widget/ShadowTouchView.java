@@ -0,0 +1,33 @@
+package com.gcssloop.widget;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowView;
+
+/**
+ * 作用: 不记录触摸事件和整体刷新的 View
+ * 作者: GcsSloop
+ * 摘要: Robolectric 自带的 ShadowView 在每次 onTouchEvent 和 invalidate() 时都会创建代理对象来调用框架实现, 设备上不会发生,
+ * 会干扰内存分配测试.
+ * 1. onTouchEvent
+ * -  ArcSeekBar 不可点击, 没有 TouchDelegate 和 Tooltip, 框架实现对它只会返回 false, 因此直接返回 false.
+ * 2. invalidate()
+ * -  测试中的 View 没有添加到窗口, 框架实现只修改内部标记, 不会安排绘制, 因此不做任何事.
+ */
+@Implements(View.class)
+public class ShadowTouchView extends ShadowView {
+
+    @Implementation
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return false;
+    }
+
+    @Implementation
+    @Override
+    public void invalidate() {
+    }
+}
@@ -0,0 +1,88 @@
+package com.gcssloop.widget;
+
+import android.view.MotionEvent;
+
+import java.util.ArrayList;
+
+/**
+ * 作用: 测试用的触摸事件序列
+ * 作者: GcsSloop
+ * 摘要: 按进度百分比生成按下、拖动和抬起事件, 坐标由与 View 配置相同的 {@link ArcGeometry} 计算,
+ * 所有事件在回放之前创建, 回放时不再创建新对象.
+ */
+final class TouchScript {
+    static final long SAMPLE_INTERVAL = 4;      // 相邻采样的时间间隔 ms
+
+    private final ArcGeometry mGeometry = new ArcGeometry();
+    private final float[] mPos = new float[2];
+    private final ArrayList<MotionEvent> mEvents = new ArrayList<MotionEvent>();
+    private long mDownTime;
+    private long mTime;
+
+    /**
+     * @param seekBar   已经完成布局的 ArcSeekBar
+     * @param startTime 第一个事件的时间 ms
+     */
+    TouchScript(ArcSeekBar seekBar, long startTime) {
+        ArcSeekBarStyle style = seekBar.getStyle();
+        style.applyTo(mGeometry);
+        mGeometry.layout(seekBar.getWidth(), seekBar.getHeight(), seekBar.getPaddingLeft(), seekBar.getPaddingTop(),
+                seekBar.getPaddingRight(), seekBar.getPaddingBottom(), style.getLayoutInset());
+        mTime = startTime;
+    }
+
+    /**
+     * 在指定进度的位置按下
+     */
+    TouchScript down(float present) {
+        mDownTime = mTime;
+        mGeometry.computeViewPos(present, mPos);
+        mEvents.add(MotionEvent.obtain(mDownTime, mTime, MotionEvent.ACTION_DOWN, mPos[0], mPos[1], 0));
+        return this;
+    }
+
+    /**
+     * 一个 MOVE 事件, 最后一个进度为当前位置, 之前的进度为历史采样
+     */
+    TouchScript move(float... presents) {
+        MotionEvent event = null;
+        for (float present : presents) {
+            mTime += SAMPLE_INTERVAL;
+            mGeometry.computeViewPos(present, mPos);
+            if (null == event) {
+                event = MotionEvent.obtain(mDownTime, mTime, MotionEvent.ACTION_MOVE, mPos[0], mPos[1], 0);
+            } else {
+                event.addBatch(mTime, mPos[0], mPos[1], 1, 1, 0);
+            }
+        }
+        mEvents.add(event);
+        return this;
+    }
+
+    /**
+     * 在指定进度的位置抬起
+     */
+    TouchScript up(float present) {
+        mTime += SAMPLE_INTERVAL;
+        mGeometry.computeViewPos(present, mPos);
+        mEvents.add(MotionEvent.obtain(mDownTime, mTime, MotionEvent.ACTION_UP, mPos[0], mPos[1], 0));
+        return this;
+    }
+
+    long getTime() {
+        return mTime;
+    }
+
+    MotionEvent[] build() {
+        return mEvents.toArray(new MotionEvent[mEvents.size()]);
+    }
+
+    /**
+     * 依次将事件交给 ArcSeekBar 处理
+     */
+    static void replay(ArcSeekBar seekBar, MotionEvent[] events) {
+        for (MotionEvent event : events) {
+            seekBar.onTouchEvent(event);
+        }
+    }
+}